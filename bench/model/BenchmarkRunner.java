@@ -0,0 +1,263 @@
+package model;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Times operations the way a microbenchmark harness would: a number of warmup iterations
+ * that are thrown away so the JIT can settle, followed by measured iterations, each of which
+ * runs the operation as many times as fits in a fixed amount of time. Every result an
+ * operation returns is consumed, so the JIT can't optimize the work away.
+ * Results can be written as CSV or JSON.
+ */
+class BenchmarkRunner {
+
+  private int warmupIterations;
+  private int measurementIterations;
+  private long iterationNanos;
+  private List<Result> results;
+  //every result is folded into this, so no operation is ever dead code
+  private volatile int sink;
+
+  /**
+   * Constructs a BenchmarkRunner with the given number of warmup and measured iterations.
+   * @param warmupIterations the number of iterations to run and throw away before measuring
+   * @param measurementIterations the number of iterations to measure
+   * @param iterationMillis how long each iteration should keep running the operation for
+   */
+  BenchmarkRunner(int warmupIterations, int measurementIterations, long iterationMillis) {
+    if (warmupIterations < 0 || measurementIterations < 1 || iterationMillis < 1) {
+      throw new IllegalArgumentException(
+          "There must be at least one measured iteration, of at least one millisecond.");
+    }
+    this.warmupIterations = warmupIterations;
+    this.measurementIterations = measurementIterations;
+    this.iterationNanos = iterationMillis * 1000000L;
+    this.results = new ArrayList<Result>();
+  }
+
+  /**
+   * Times the given operation, recording the result under the given name and parameters.
+   * @param name the name of the operation
+   * @param params the parameters the operation was set up with, in the order to report them
+   * @param operation the operation to time
+   * @return the result of timing the operation
+   */
+  Result run(String name, Map<String, String> params, Supplier<Object> operation) {
+    for (int i = 0; i < this.warmupIterations; i++) {
+      iteration(operation);
+    }
+    double[] nanosPerOp = new double[this.measurementIterations];
+    for (int i = 0; i < this.measurementIterations; i++) {
+      nanosPerOp[i] = iteration(operation);
+    }
+    Result ret = new Result(name, new LinkedHashMap<String, String>(params), nanosPerOp);
+    this.results.add(ret);
+    return ret;
+  }
+
+  /**
+   * Returns every result recorded so far, in the order they were run.
+   * @return every result recorded so far
+   */
+  List<Result> results() {
+    return this.results;
+  }
+
+  /**
+   * Writes every result recorded so far to the given stream, in the given format.
+   * @param format either "csv" or "json"
+   * @param out the stream to write to
+   * @throws IOException if the results can't be written
+   */
+  void write(String format, PrintStream out) throws IOException {
+    if (format.equalsIgnoreCase("csv")) {
+      writeCsv(out);
+    } else if (format.equalsIgnoreCase("json")) {
+      writeJson(out);
+    } else {
+      throw new IllegalArgumentException("The format must be csv or json, not: " + format);
+    }
+    if (out.checkError()) {
+      throw new IOException("Could not write the benchmark results.");
+    }
+  }
+
+  /**
+   * Reads arguments of the form name=value into a map, so benchmarks can be configured
+   * from the command line.
+   * @param args the arguments to read
+   * @return the arguments, mapped from name to value
+   */
+  static Map<String, String> parseArgs(String[] args) {
+    Map<String, String> ret = new LinkedHashMap<String, String>();
+    for (String arg : args) {
+      int equals = arg.indexOf('=');
+      if (equals <= 0) {
+        throw new IllegalArgumentException("Arguments must be of the form name=value, not: " + arg);
+      }
+      ret.put(arg.substring(0, equals), arg.substring(equals + 1));
+    }
+    return ret;
+  }
+
+  /**
+   * Returns the comma separated list of numbers given for the named argument, or the default
+   * list if the argument wasn't given.
+   * @param args the arguments, as returned by parseArgs
+   * @param name the name of the argument
+   * @param defaults the list to use if the argument wasn't given
+   * @return the list of numbers given for the argument
+   */
+  static double[] doublesArg(Map<String, String> args, String name, String defaults) {
+    String[] values = (args.containsKey(name) ? args.get(name) : defaults).split(",");
+    double[] ret = new double[values.length];
+    for (int i = 0; i < values.length; i++) {
+      ret[i] = Double.parseDouble(values[i].trim());
+    }
+    return ret;
+  }
+
+  //non-public helper functions
+
+  /**
+   * Runs the operation repeatedly for one iteration's worth of time.
+   * @return the average number of nanoseconds each run took
+   */
+  private double iteration(Supplier<Object> operation) {
+    int folded = 0;
+    long ops = 0;
+    long start = System.nanoTime();
+    long elapsed;
+    do {
+      folded += System.identityHashCode(operation.get());
+      ops++;
+      elapsed = System.nanoTime() - start;
+    } while (elapsed < this.iterationNanos);
+    this.sink += folded;
+    return (double) elapsed / ops;
+  }
+
+  private void writeCsv(PrintStream out) {
+    List<String> paramNames = paramNames();
+    StringBuilder header = new StringBuilder("benchmark");
+    for (String param : paramNames) {
+      header.append(',').append(param);
+    }
+    header.append(",mean_ns_per_op,stddev_ns_per_op,min_ns_per_op,iterations");
+    out.println(header);
+    for (Result r : this.results) {
+      StringBuilder line = new StringBuilder(r.name());
+      for (String param : paramNames) {
+        String value = r.params().get(param);
+        line.append(',').append(value == null ? "" : value);
+      }
+      line.append(',').append(format(r.mean()))
+          .append(',').append(format(r.stddev()))
+          .append(',').append(format(r.min()))
+          .append(',').append(r.iterations());
+      out.println(line);
+    }
+  }
+
+  private void writeJson(PrintStream out) {
+    out.println("[");
+    for (int i = 0; i < this.results.size(); i++) {
+      Result r = this.results.get(i);
+      StringBuilder line = new StringBuilder("  {\"benchmark\": \"").append(r.name()).append("\", \"params\": {");
+      boolean first = true;
+      for (Map.Entry<String, String> param : r.params().entrySet()) {
+        if (!first) {
+          line.append(", ");
+        }
+        line.append('"').append(param.getKey()).append("\": \"").append(param.getValue()).append('"');
+        first = false;
+      }
+      line.append("}, \"meanNanosPerOp\": ").append(format(r.mean()))
+          .append(", \"stddevNanosPerOp\": ").append(format(r.stddev()))
+          .append(", \"minNanosPerOp\": ").append(format(r.min()))
+          .append(", \"iterations\": ").append(r.iterations())
+          .append(i < this.results.size() - 1 ? "}," : "}");
+      out.println(line);
+    }
+    out.println("]");
+  }
+
+  /**
+   * Returns the names of every parameter used by any result, in the order they first appear.
+   */
+  private List<String> paramNames() {
+    List<String> ret = new ArrayList<String>();
+    for (Result r : this.results) {
+      for (String param : r.params().keySet()) {
+        if (!ret.contains(param)) {
+          ret.add(param);
+        }
+      }
+    }
+    return ret;
+  }
+
+  private static String format(double nanos) {
+    return String.format(Locale.ROOT, "%.3f", nanos);
+  }
+
+  /**
+   * The timings of one operation, with one time per measured iteration.
+   */
+  static final class Result {
+
+    private String name;
+    private Map<String, String> params;
+    private double[] nanosPerOp;
+
+    Result(String name, Map<String, String> params, double[] nanosPerOp) {
+      this.name = name;
+      this.params = params;
+      this.nanosPerOp = nanosPerOp;
+    }
+
+    String name() {
+      return this.name;
+    }
+
+    Map<String, String> params() {
+      return this.params;
+    }
+
+    int iterations() {
+      return this.nanosPerOp.length;
+    }
+
+    double mean() {
+      double sum = 0;
+      for (double n : this.nanosPerOp) {
+        sum += n;
+      }
+      return sum / this.nanosPerOp.length;
+    }
+
+    double stddev() {
+      double mean = this.mean();
+      double sum = 0;
+      for (double n : this.nanosPerOp) {
+        sum += (n - mean) * (n - mean);
+      }
+      return Math.sqrt(sum / this.nanosPerOp.length);
+    }
+
+    double min() {
+      double ret = Double.MAX_VALUE;
+      for (double n : this.nanosPerOp) {
+        ret = Math.min(ret, n);
+      }
+      return ret;
+    }
+  }
+}
@@ -0,0 +1,201 @@
+package model;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Benchmarks scheduling end to end, on input files written by WorkloadGenerator. For each
+ * number of events, times reading the files with ScheduleDataReader and scheduling the events
+ * with Scheduler separately, and reports how many events were scheduled per second and the
+ * peak heap used by each.
+ * Takes the WorkloadGenerator parameters, plus:
+ * - events: a comma separated list of the numbers of events to run with
+ * - chunkSize: the chunkSize of the Scheduler
+ * - parallelism: the parallelism of the Scheduler
+ * - repeats: how many times to read and schedule each set of files (the first run warms up
+ *   the JIT, so it's reported separately as run 0)
+ * e.g.:
+ *   SchedulingBenchmark events=10,100,1000,5000 overlap=3 density=0.5 format=json out=scheduling.json
+ * Results are written as csv (the default) or json, to the console or the given file. A run
+ * that couldn't schedule every event has no events per second: empty in csv, null in json.
+ */
+public class SchedulingBenchmark {
+
+  /**
+   * Runs every number of events given and writes out the results.
+   * @param args the parameters, each of the form name=value
+   * @throws IOException if the input files or the results can't be written
+   */
+  public static void main(String[] args) throws IOException {
+    Map<String, String> params = BenchmarkRunner.parseArgs(args);
+    double[] eventCounts = BenchmarkRunner.doublesArg(params, "events", "10,100,1000");
+    double chunkSize = BenchmarkRunner.doublesArg(params, "chunkSize", "0.25")[0];
+    int parallelism = (int) BenchmarkRunner.doublesArg(params, "parallelism", "1")[0];
+    int repeats = (int) BenchmarkRunner.doublesArg(params, "repeats", "3")[0];
+
+    List<Run> runs = new ArrayList<Run>();
+    for (double eventCount : eventCounts) {
+      File dir = Files.createTempDirectory("workload").toFile();
+      WorkloadGenerator.fromArgs(params, (int) eventCount).write(dir);
+      for (int i = 0; i < repeats; i++) {
+        runs.add(run(dir, (int) eventCount, i, chunkSize, parallelism));
+      }
+      for (File f : dir.listFiles()) {
+        f.delete();
+      }
+      dir.delete();
+    }
+
+    String format = params.containsKey("format") ? params.get("format") : "csv";
+    if (params.containsKey("out")) {
+      try (PrintStream out = new PrintStream(new FileOutputStream(params.get("out")), false, "utf-8")) {
+        write(runs, format, out);
+      }
+    } else {
+      write(runs, format, System.out);
+    }
+  }
+
+  //non-public helper functions
+
+  /**
+   * Reads and schedules the input files in the given directory once, timing each separately.
+   */
+  private static Run run(File dir, int events, int index, double chunkSize, int parallelism) {
+    Run ret = new Run(events, index);
+    resetPeakHeap();
+    long start = System.nanoTime();
+    IScheduleDataReader reader = new ScheduleDataReader(
+        new File(dir, "personData.txt"),
+        new File(dir, "groupData.txt"),
+        new File(dir, "locationData.txt"),
+        new File(dir, "eventData.txt"),
+        new File(dir, "conflictData.txt"),
+        new File(dir, "windowData.txt"),
+        0, 6);
+    List<IUnscheduledEvent> toSchedule = reader.getEventsToSchedule();
+    ret.readNanos = System.nanoTime() - start;
+    ret.readPeakHeap = peakHeap();
+
+    resetPeakHeap();
+    start = System.nanoTime();
+    try {
+      new Scheduler(chunkSize, parallelism).schedule(toSchedule);
+      ret.scheduled = toSchedule.size();
+    } catch (IllegalStateException e) {
+      //some event had nowhere left to go
+      ret.scheduled = -1;
+    }
+    ret.scheduleNanos = System.nanoTime() - start;
+    ret.schedulePeakHeap = peakHeap();
+    return ret;
+  }
+
+  /**
+   * Collects garbage and resets the peak usage of every heap memory pool, so the next call
+   * to peakHeap() measures only what happens in between.
+   */
+  private static void resetPeakHeap() {
+    System.gc();
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP) {
+        pool.resetPeakUsage();
+      }
+    }
+  }
+
+  /**
+   * Returns the sum of the peak usages of every heap memory pool, in bytes.
+   */
+  private static long peakHeap() {
+    long ret = 0;
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP) {
+        ret += pool.getPeakUsage().getUsed();
+      }
+    }
+    return ret;
+  }
+
+  private static void write(List<Run> runs, String format, PrintStream out) throws IOException {
+    if (format.equalsIgnoreCase("csv")) {
+      out.println("events,run,scheduled,read_ms,schedule_ms,events_per_sec,read_peak_heap_mb,"
+          + "schedule_peak_heap_mb");
+      for (Run r : runs) {
+        out.println(r.events + "," + r.index + "," + r.scheduled
+            + "," + format(r.readNanos / 1e6) + "," + format(r.scheduleNanos / 1e6)
+            + "," + format(r.eventsPerSecond(), "")
+            + "," + format(r.readPeakHeap / 1048576.0) + "," + format(r.schedulePeakHeap / 1048576.0));
+      }
+    } else if (format.equalsIgnoreCase("json")) {
+      out.println("[");
+      for (int i = 0; i < runs.size(); i++) {
+        Run r = runs.get(i);
+        out.println("  {\"events\": " + r.events + ", \"run\": " + r.index + ", \"scheduled\": " + r.scheduled
+            + ", \"readMillis\": " + format(r.readNanos / 1e6)
+            + ", \"scheduleMillis\": " + format(r.scheduleNanos / 1e6)
+            + ", \"eventsPerSecond\": " + format(r.eventsPerSecond(), "null")
+            + ", \"readPeakHeapMB\": " + format(r.readPeakHeap / 1048576.0)
+            + ", \"schedulePeakHeapMB\": " + format(r.schedulePeakHeap / 1048576.0)
+            + (i < runs.size() - 1 ? "}," : "}"));
+      }
+      out.println("]");
+    } else {
+      throw new IllegalArgumentException("The format must be csv or json, not: " + format);
+    }
+    if (out.checkError()) {
+      throw new IOException("Could not write the benchmark results.");
+    }
+  }
+
+  private static String format(double value) {
+    return String.format(Locale.ROOT, "%.3f", value);
+  }
+
+  /**
+   * Formats the given value, or gives the given placeholder if it is NaN.
+   */
+  private static String format(double value, String missing) {
+    return Double.isNaN(value) ? missing : format(value);
+  }
+
+  /**
+   * The measurements of reading and scheduling one set of input files once.
+   * scheduled is -1 if the Scheduler couldn't find a place for every event.
+   */
+  private static final class Run {
+
+    private int events;
+    private int index;
+    private int scheduled;
+    private long readNanos;
+    private long scheduleNanos;
+    private long readPeakHeap;
+    private long schedulePeakHeap;
+
+    Run(int events, int index) {
+      this.events = events;
+      this.index = index;
+    }
+
+    /**
+     * Returns the events scheduled per second, or NaN if they couldn't all be scheduled.
+     */
+    double eventsPerSecond() {
+      if (this.scheduled < 0) {
+        return Double.NaN;
+      }
+      return this.events / (this.scheduleNanos / 1e9);
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package model;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Benchmarks the set algebra of TimeSet: union, intersect(List), complement, subtract,
+ * allTimesOfDuration and addDays, on randomly generated TimeSets.
+ * Parameterized by:
+ * - intervals: the number of intervals in each TimeSet
+ * - fragmentation: how much of the time each interval could cover is left out of it, from 0
+ *   (intervals that touch) to just under 1 (tiny intervals with big gaps between them)
+ * - chunkSize: the chunkSize used by allTimesOfDuration, looking for times 4 chunks long
+ * Every parameter takes a comma separated list of values, and every combination is run, e.g.:
+ *   TimeSetBenchmark intervals=10,100,1000 fragmentation=0.1,0.5,0.9 chunkSize=0.25,1
+ *       format=json out=timeset.json warmup=3 iterations=5 millis=200
+ * Results are written as csv (the default) or json, to the console or the given file.
+ */
+public class TimeSetBenchmark {
+
+  //how many TimeSets intersect(List) intersects at once
+  private static final int SETS_TO_INTERSECT = 4;
+
+  /**
+   * Runs every combination of the given parameters and writes out the results.
+   * @param args the parameters, each of the form name=value
+   * @throws IOException if the results can't be written
+   */
+  public static void main(String[] args) throws IOException {
+    Map<String, String> params = BenchmarkRunner.parseArgs(args);
+    double[] intervalCounts = BenchmarkRunner.doublesArg(params, "intervals", "10,100,1000");
+    double[] fragmentations = BenchmarkRunner.doublesArg(params, "fragmentation", "0.1,0.5,0.9");
+    double[] chunkSizes = BenchmarkRunner.doublesArg(params, "chunkSize", "0.25,1");
+    BenchmarkRunner runner = new BenchmarkRunner(
+        (int) BenchmarkRunner.doublesArg(params, "warmup", "3")[0],
+        (int) BenchmarkRunner.doublesArg(params, "iterations", "5")[0],
+        (long) BenchmarkRunner.doublesArg(params, "millis", "200")[0]);
+
+    for (double intervalCount : intervalCounts) {
+      for (double fragmentation : fragmentations) {
+        Random random = new Random(42);
+        List<ITimeSet> sets = new ArrayList<ITimeSet>();
+        for (int i = 0; i < SETS_TO_INTERSECT; i++) {
+          sets.add(randomTimeSet(random, (int) intervalCount, fragmentation));
+        }
+        ITimeSet a = sets.get(0);
+        ITimeSet b = sets.get(1);
+        List<ITimeSet> others = sets.subList(1, sets.size());
+        Map<String, String> setParams = new LinkedHashMap<String, String>();
+        setParams.put("intervals", String.valueOf((int) intervalCount));
+        setParams.put("fragmentation", String.valueOf(fragmentation));
+
+        runner.run("union", setParams, () -> a.union(b));
+        runner.run("intersectList", setParams, () -> a.intersect(others));
+        runner.run("complement", setParams, () -> a.complement());
+        runner.run("subtract", setParams, () -> a.subtract(b));
+        runner.run("addDays", setParams, () -> a.addDays(1));
+        for (double chunkSize : chunkSizes) {
+          Map<String, String> chunkParams = new LinkedHashMap<String, String>(setParams);
+          chunkParams.put("chunkSize", String.valueOf(chunkSize));
+          runner.run("allTimesOfDuration", chunkParams, () -> a.allTimesOfDuration(4 * chunkSize, chunkSize));
+        }
+      }
+    }
+
+    String format = params.containsKey("format") ? params.get("format") : "csv";
+    if (params.containsKey("out")) {
+      try (PrintStream out = new PrintStream(new FileOutputStream(params.get("out")), false, "utf-8")) {
+        runner.write(format, out);
+      }
+    } else {
+      runner.write(format, System.out);
+    }
+  }
+
+  /**
+   * Returns a random TimeSet with the given number of intervals, all within the first six
+   * days of the week (so it can always be shifted a day later). The six days are split into
+   * equal slots, one per interval, and each interval leaves out the given fraction of its slot.
+   * Every bound is on a whole minute.
+   * @param random the source of randomness
+   * @param intervals the number of intervals the TimeSet should have
+   * @param fragmentation the fraction of each slot to leave out of its interval, in [0, 1)
+   * @return the random TimeSet
+   */
+  static ITimeSet randomTimeSet(Random random, int intervals, double fragmentation) {
+    if (intervals < 1 || fragmentation < 0 || fragmentation >= 1) {
+      throw new IllegalArgumentException(
+          "There must be at least one interval, and fragmentation must be in [0, 1).");
+    }
+    int slotMinutes = (144 * 60) / intervals;
+    if (slotMinutes < 2) {
+      throw new IllegalArgumentException("Too many intervals to fit in six days: " + intervals);
+    }
+    int lengthMinutes = Math.max(1, (int) Math.round(slotMinutes * (1 - fragmentation)));
+    if (lengthMinutes == slotMinutes && fragmentation > 0) {
+      lengthMinutes--;
+    }
+    ITimeSet ret = new TimeSet();
+    for (int i = 0; i < intervals; i++) {
+      int start = i * slotMinutes + random.nextInt(slotMinutes - lengthMinutes + 1);
+      ret = ret.union(new TimeSet(start / 60.0, (start + lengthMinutes) / 60.0));
+    }
+    return ret;
+  }
+}
@@ -0,0 +1,225 @@
+package model;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Writes a random set of the input files read by ScheduleDataReader (personData, groupData,
+ * locationData, eventData, conflictData and windowData), at whatever scale we want to test.
+ * Tunable by:
+ * - events: the number of events to schedule
+ * - rooms: the number of locations the events are spread across
+ * - groupSize: the number of people in each group
+ * - overlap: the average number of groups each person is in, so higher overlap means more
+ *   events share members with each other
+ * - density: the fraction of the daily scheduling window each person is available for
+ * - conflictRate: the fraction of people with a one-time conflict this week
+ * - seed: the seed of the randomness, so the same parameters always give the same files
+ * Every group has two events, and every event is between 0.5 and 2 hours long.
+ */
+public class WorkloadGenerator {
+
+  //the daily scheduling window, in minutes from the start of the day
+  static final int WINDOW_START = 9 * 60;
+  static final int WINDOW_END = 23 * 60;
+  private static final String[] WEEKDAYS = {"Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun"};
+  private static final int EVENTS_PER_GROUP = 2;
+
+  private int events;
+  private int rooms;
+  private int groupSize;
+  private double overlap;
+  private double density;
+  private double conflictRate;
+  private long seed;
+
+  /**
+   * Constructs a WorkloadGenerator with the given parameters.
+   * @param events the number of events to schedule
+   * @param rooms the number of locations the events are spread across
+   * @param groupSize the number of people in each group
+   * @param overlap the average number of groups each person is in, at least 1
+   * @param density the fraction of the daily scheduling window each person is available for, in (0, 1]
+   * @param conflictRate the fraction of people with a one-time conflict this week, in [0, 1]
+   * @param seed the seed of the randomness
+   */
+  public WorkloadGenerator(int events, int rooms, int groupSize, double overlap, double density,
+      double conflictRate, long seed) {
+    if (events < 1 || rooms < 1 || groupSize < 1 || overlap < 1) {
+      throw new IllegalArgumentException(
+          "There must be at least one event, room and group member, and overlap must be at least 1.");
+    }
+    if (density <= 0 || density > 1 || conflictRate < 0 || conflictRate > 1) {
+      throw new IllegalArgumentException("Density must be in (0, 1] and conflictRate in [0, 1].");
+    }
+    this.events = events;
+    this.rooms = rooms;
+    this.groupSize = groupSize;
+    this.overlap = overlap;
+    this.density = density;
+    this.conflictRate = conflictRate;
+    this.seed = seed;
+  }
+
+  /**
+   * Constructs a WorkloadGenerator from name=value parameters, using defaults for the ones not given.
+   * By default there is one room for every 40 events, which is enough for every event to fit.
+   * @param params the parameters, as returned by BenchmarkRunner.parseArgs
+   * @param events the number of events to schedule
+   * @return the WorkloadGenerator with the given parameters
+   */
+  static WorkloadGenerator fromArgs(Map<String, String> params, int events) {
+    return new WorkloadGenerator(
+        events,
+        (int) BenchmarkRunner.doublesArg(params, "rooms", String.valueOf(Math.max(2, events / 40)))[0],
+        (int) BenchmarkRunner.doublesArg(params, "groupSize", "4")[0],
+        BenchmarkRunner.doublesArg(params, "overlap", "2")[0],
+        BenchmarkRunner.doublesArg(params, "density", "0.7")[0],
+        BenchmarkRunner.doublesArg(params, "conflictRate", "0.1")[0],
+        (long) BenchmarkRunner.doublesArg(params, "seed", "1")[0]);
+  }
+
+  /**
+   * Writes the input files into the given directory, named the same as the ones in InputFiles.
+   * @param dir the directory to write the files to, which is created if it doesn't exist
+   * @throws IOException if the files can't be written
+   */
+  public void write(File dir) throws IOException {
+    if (!dir.isDirectory() && !dir.mkdirs()) {
+      throw new IOException("Could not create the directory: " + dir);
+    }
+    Random random = new Random(this.seed);
+    int groups = (this.events + EVENTS_PER_GROUP - 1) / EVENTS_PER_GROUP;
+    int people = Math.max(this.groupSize, (int) Math.ceil(groups * this.groupSize / this.overlap));
+
+    try (Writer out = open(new File(dir, "windowData.txt"))) {
+      out.write(clock(WINDOW_START) + "-" + clock(WINDOW_END));
+    }
+    try (Writer out = open(new File(dir, "personData.txt"))) {
+      List<String> lines = new ArrayList<String>();
+      for (int i = 0; i < people; i++) {
+        lines.add(personLine(random, "Person" + i));
+      }
+      writeLines(out, lines);
+    }
+    try (Writer out = open(new File(dir, "conflictData.txt"))) {
+      List<String> lines = new ArrayList<String>();
+      for (int i = 0; i < people; i++) {
+        if (random.nextDouble() < this.conflictRate) {
+          int start = WINDOW_START + 15 * random.nextInt((WINDOW_END - WINDOW_START - 60) / 15 + 1);
+          lines.add("Person" + i + "; " + WEEKDAYS[random.nextInt(WEEKDAYS.length)] + " "
+              + clock(start) + "-" + clock(start + 60) + ";");
+        }
+      }
+      writeLines(out, lines);
+    }
+    try (Writer out = open(new File(dir, "groupData.txt"))) {
+      List<String> lines = new ArrayList<String>();
+      for (int i = 0; i < groups; i++) {
+        //pick distinct members, so the group really has groupSize people
+        List<Integer> members = new ArrayList<Integer>();
+        while (members.size() < this.groupSize) {
+          int member = random.nextInt(people);
+          if (!members.contains(member)) {
+            members.add(member);
+          }
+        }
+        StringBuilder line = new StringBuilder("Group" + i + " - ");
+        for (int k = 0; k < members.size(); k++) {
+          line.append(k == 0 ? "" : ", ").append("Person").append(members.get(k));
+        }
+        lines.add(line.toString());
+      }
+      writeLines(out, lines);
+    }
+    try (Writer out = open(new File(dir, "locationData.txt"))) {
+      List<String> lines = new ArrayList<String>();
+      for (int i = 0; i < this.rooms; i++) {
+        lines.add("Room" + i);
+      }
+      writeLines(out, lines);
+    }
+    try (Writer out = open(new File(dir, "eventData.txt"))) {
+      List<String> lines = new ArrayList<String>();
+      for (int i = 0; i < this.events; i++) {
+        double duration = 0.5 + 0.25 * random.nextInt(7);
+        lines.add("Event" + i + " @ Room" + random.nextInt(this.rooms) + " - " + duration
+            + " - Group" + (i / EVENTS_PER_GROUP) + " - " + (1 + random.nextInt(2)));
+      }
+      writeLines(out, lines);
+    }
+  }
+
+  /**
+   * Writes a set of input files with the given parameters (as name=value arguments, including
+   * events and dir) so they can be run with SchedulerRunner or looked at by hand.
+   * @param args the parameters, each of the form name=value
+   * @throws IOException if the files can't be written
+   */
+  public static void main(String[] args) throws IOException {
+    Map<String, String> params = BenchmarkRunner.parseArgs(args);
+    int events = (int) BenchmarkRunner.doublesArg(params, "events", "100")[0];
+    File dir = new File(params.containsKey("dir") ? params.get("dir") : "GeneratedInputFiles");
+    fromArgs(params, events).write(dir);
+    System.out.println("Wrote " + events + " events to " + dir.getAbsolutePath());
+  }
+
+  //non-public helper functions
+
+  /**
+   * Returns the personData line of a person who is unavailable for one random stretch of
+   * every day's window, long enough to leave them available for only the density of it.
+   */
+  private String personLine(Random random, String name) {
+    StringBuilder ret = new StringBuilder(name).append(";");
+    int windowChunks = (WINDOW_END - WINDOW_START) / 15;
+    int unavailableChunks = (int) Math.round(windowChunks * (1 - this.density));
+    if (unavailableChunks > 0) {
+      for (String weekday : WEEKDAYS) {
+        int start = WINDOW_START + 15 * random.nextInt(windowChunks - unavailableChunks + 1);
+        ret.append(" ").append(weekday).append(" ")
+            .append(clock(start)).append("-").append(clock(start + 15 * unavailableChunks)).append(";");
+      }
+    }
+    return ret.toString();
+  }
+
+  /**
+   * Returns the given minute of the day in the [hours]:[minutes][am/pm] format that
+   * ScheduleDataReader reads, where pm hours count from 0 (so 12:30pm is written 0:30pm,
+   * and the end of the day is 12:00pm).
+   */
+  static String clock(int minuteOfDay) {
+    String ampm = "am";
+    if (minuteOfDay >= 12 * 60) {
+      minuteOfDay -= 12 * 60;
+      ampm = "pm";
+    }
+    return String.format(Locale.ROOT, "%d:%02d%s", minuteOfDay / 60, minuteOfDay % 60, ampm);
+  }
+
+  private static Writer open(File file) throws IOException {
+    return new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), "utf-8"));
+  }
+
+  /**
+   * Writes the given lines, without a newline after the last one, as in InputFiles.
+   */
+  private static void writeLines(Writer out, List<String> lines) throws IOException {
+    for (int i = 0; i < lines.size(); i++) {
+      out.write(lines.get(i));
+      if (i < lines.size() - 1) {
+        out.write(System.lineSeparator());
+      }
+    }
+  }
+}
@@ -80,24 +80,6 @@ public abstract class ATimeIntervalMarker implements ITimeIntervalMarker {
    * @return the given time as a String, in the form it would appear in a digital clock
    */
   private String numericTimeToString(double time) {
-    String ampm = "am";
-    String hoursComponent = "";
-    String minutesComponent = "";
-    double hourOfDay = (time % 24.0); //get hour of day
-    hoursComponent = Integer.toString((int) Math.floor(hourOfDay));
-    if (hourOfDay >= 12.0) {
-      ampm = "pm";
-    }
-    double minutesOfHour = (hourOfDay % 1.0); //get minutes component of hour as a double
-    //convert the decimal representing minutes to an int in range [0, 59]
-    double minutesAsDouble = minutesOfHour * 60;
-    int minutesAsInteger = (int) Math.floor(minutesAsDouble);
-    //properly convert minutesAsInteger to a String, padding zeroes as necessary
-    if (minutesAsInteger < 10) {
-      minutesComponent = "0" + Integer.toString(minutesAsInteger);
-    } else {
-      minutesComponent = Integer.toString(minutesAsInteger);
-    }
-    return hoursComponent + ":" + minutesComponent + ampm;
+    return TimeTicks.toClockString(TimeTicks.toTicks(time));
   }
 }
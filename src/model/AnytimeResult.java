@@ -0,0 +1,126 @@
+package model;
+
+/**
+ * The best schedule an IAnytimeScheduler found, along with stats on how it got there.
+ */
+public final class AnytimeResult {
+
+  /**
+   * Why a search stopped.
+   */
+  public enum StopReason {
+    FINISHED, //it ran everything it was going to
+    BUDGET, //its time ran out
+    CANCELLED //its CancellationToken was cancelled
+  }
+
+  private ISchedule schedule;
+  private int placed;
+  private int eventCount;
+  private double cost;
+  private int startsRun;
+  private int completeStarts;
+  private int bestStart;
+  private long elapsedMillis;
+  private StopReason stopReason;
+
+  AnytimeResult(ISchedule schedule, int placed, int eventCount, double cost, int startsRun,
+      int completeStarts, int bestStart, long elapsedMillis, StopReason stopReason) {
+    this.schedule = schedule;
+    this.placed = placed;
+    this.eventCount = eventCount;
+    this.cost = cost;
+    this.startsRun = startsRun;
+    this.completeStarts = completeStarts;
+    this.bestStart = bestStart;
+    this.elapsedMillis = elapsedMillis;
+    this.stopReason = stopReason;
+  }
+
+  /**
+   * Returns the best schedule found, which might not have every event in it.
+   * @return the best schedule found
+   */
+  public ISchedule getSchedule() {
+    return this.schedule;
+  }
+
+  /**
+   * Returns whether or not the schedule has every event in it.
+   * @return whether or not every event was placed
+   */
+  public boolean isComplete() {
+    return this.placed == this.eventCount;
+  }
+
+  /**
+   * Returns the number of events in the schedule.
+   * @return the number of events placed
+   */
+  public int getPlaced() {
+    return this.placed;
+  }
+
+  /**
+   * Returns the number of events there were to schedule.
+   * @return the number of events there were to schedule
+   */
+  public int getEventCount() {
+    return this.eventCount;
+  }
+
+  /**
+   * Returns the cost of the schedule under the objective it was searched with.
+   * @return the cost of the schedule
+   */
+  public double getCost() {
+    return this.cost;
+  }
+
+  /**
+   * Returns the number of passes that were started.
+   * @return the number of passes started
+   */
+  public int getStartsRun() {
+    return this.startsRun;
+  }
+
+  /**
+   * Returns the number of passes that placed every event.
+   * @return the number of passes that placed every event
+   */
+  public int getCompleteStarts() {
+    return this.completeStarts;
+  }
+
+  /**
+   * Returns which pass found the schedule, counting from 0.
+   * @return the index of the pass that found the schedule
+   */
+  public int getBestStart() {
+    return this.bestStart;
+  }
+
+  /**
+   * Returns how long the search ran for, in milliseconds.
+   * @return how long the search ran for, in milliseconds
+   */
+  public long getElapsedMillis() {
+    return this.elapsedMillis;
+  }
+
+  /**
+   * Returns why the search stopped.
+   * @return why the search stopped
+   */
+  public StopReason getStopReason() {
+    return this.stopReason;
+  }
+
+  @Override
+  public String toString() {
+    return "Placed " + this.placed + " of " + this.eventCount + " events, cost " + this.cost
+        + ", found by pass " + this.bestStart + " of " + this.startsRun + " (" + this.completeStarts
+        + " complete), in " + this.elapsedMillis + "ms, stopped by " + this.stopReason;
+  }
+}
@@ -0,0 +1,122 @@
+package model;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Schedules within a time limit, keeping the best schedule found so far. First runs the
+ * greedy pass of Scheduler, then runs greedy passes that break ties at random (as in
+ * MultiStartScheduler) until it has run the given number of passes, its time runs out, or it is
+ * cancelled. A pass that places every event beats one that doesn't; between complete passes
+ * the cheapest under the objective wins, and between incomplete ones the one that placed the
+ * most events. An event that runs out of options is left out and the pass goes on without it,
+ * and a pass that is stopped part way through still counts, so there is always a schedule to
+ * return, even if it only has some of the events in it; the rest are in its unplaced list.
+ */
+public class AnytimeScheduler implements IAnytimeScheduler {
+
+  private double chunkSize;
+  private int maxStarts;
+  private long seed;
+  private IScheduleObjective objective;
+
+  /**
+   * Constructs an AnytimeScheduler that runs at most the given number of passes, scoring
+   * complete schedules by the given objective.
+   * @param chunkSize the atomic smallest unit that scheduled times are made up of
+   * @param maxStarts the most greedy passes to run
+   * @param seed the seed of the first random pass, which the seeds of the rest count up from
+   * @param objective the cost to keep the cheapest schedule by
+   */
+  public AnytimeScheduler(double chunkSize, int maxStarts, long seed, IScheduleObjective objective) {
+    if (maxStarts < 1) {
+      throw new IllegalArgumentException("An AnytimeScheduler needs to run at least one pass.");
+    }
+    this.chunkSize = chunkSize;
+    this.maxStarts = maxStarts;
+    this.seed = seed;
+    this.objective = objective;
+  }
+
+  /**
+   * Constructs an AnytimeScheduler that runs at most the given number of passes, keeping the
+   * schedule with the most slack.
+   * @param chunkSize the atomic smallest unit that scheduled times are made up of
+   * @param maxStarts the most greedy passes to run
+   * @param seed the seed of the first random pass, which the seeds of the rest count up from
+   */
+  public AnytimeScheduler(double chunkSize, int maxStarts, long seed) {
+    this(chunkSize, maxStarts, seed, new SlackObjective());
+  }
+
+  @Override
+  public AnytimeResult schedule(List<IUnscheduledEvent> toSchedule, Duration budget, CancellationToken token) {
+    if (toSchedule.size() <= 0) {
+      throw new IllegalArgumentException("You cannot construct a schedule with no events.");
+    }
+    if (budget.isNegative() || budget.isZero()) {
+      throw new IllegalArgumentException("The budget must be longer than zero.");
+    }
+    final long start = System.nanoTime();
+    final long deadline = start + budget.toNanos();
+    BooleanSupplier stopped = () -> token.isCancelled() || System.nanoTime() - deadline > 0;
+
+    ScheduleState initial = new ScheduleState(toSchedule, this.chunkSize);
+    ScheduleState best = null;
+    double bestCost = 0;
+    int bestStart = -1;
+    int startsRun = 0;
+    int completeStarts = 0;
+    //the first pass always starts, so there's a schedule to return even if it's cut short
+    do {
+      Random random = startsRun == 0 ? null : new Random(this.seed + startsRun);
+      ScheduleState reached = MultiStartScheduler.greedyPass(initial, random, stopped, true);
+      double cost = reached.costUnder(this.objective);
+      if (reached.isComplete()) {
+        completeStarts++;
+      }
+      if (best == null || isBetter(reached, cost, best, bestCost)) {
+        best = reached;
+        bestCost = cost;
+        bestStart = startsRun;
+        final int found = startsRun;
+        final int placed = reached.placed();
+        SchedulerLog.debug(() -> "Pass " + found + " is the best so far, placing " + placed + " events.");
+      }
+      startsRun++;
+    } while (startsRun < this.maxStarts && !stopped.getAsBoolean());
+
+    AnytimeResult.StopReason reason;
+    if (token.isCancelled()) {
+      reason = AnytimeResult.StopReason.CANCELLED;
+    } else if (System.nanoTime() - deadline > 0) {
+      reason = AnytimeResult.StopReason.BUDGET;
+    } else {
+      reason = AnytimeResult.StopReason.FINISHED;
+    }
+    AnytimeResult ret = new AnytimeResult(new Schedule(best.replay(), best.unplaced()), best.placed(),
+        initial.conflicts().size(), bestCost, startsRun, completeStarts, bestStart,
+        (System.nanoTime() - start) / 1000000L, reason);
+    SchedulerLog.info(ret::toString);
+    return ret;
+  }
+
+  //non-public helper functions
+
+  /**
+   * Returns whether or not the first state is better than the second: complete beats
+   * incomplete, then lower cost beats higher if both are complete, or more events placed
+   * beats fewer if neither is.
+   */
+  private static boolean isBetter(ScheduleState state, double cost, ScheduleState than, double thanCost) {
+    if (state.isComplete() != than.isComplete()) {
+      return state.isComplete();
+    }
+    if (state.isComplete()) {
+      return cost < thanCost;
+    }
+    return state.placed() > than.placed();
+  }
+}
@@ -0,0 +1,143 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A Scheduler that searches for a complete schedule instead of giving up when the greedy
+ * choice leads to a dead end. Places events one at a time like Scheduler, picking the most
+ * constrained event next (highest priority, then fewest options, as in Scheduler) and trying
+ * its options best first. Checks forward after every placement: an option that would leave
+ * any event still to schedule with no options is never tried. When an event runs out of
+ * options to try, the search backtracks and tries the previous event's next option.
+ * If the greedy choice never hits a dead end, the first schedule found is the same one
+ * Scheduler would find. The search gives up once it has tried a given number of placements
+ * or run for a given amount of time.
+ * Each step of the search is a ScheduleState, so backtracking just goes back to the state
+ * before, and people and locations are only updated once, for the schedule found.
+ */
+public class BacktrackingScheduler implements IScheduler {
+
+  private double chunkSize;
+  private long maxNodes;
+  private long maxMillis;
+
+  /**
+   * Constructs a BacktrackingScheduler that gives up after trying the given number of
+   * placements or running for the given amount of time, whichever comes first.
+   * @param chunkSize the atomic smallest unit that scheduled times are made up of
+   * @param maxNodes the most placements to try
+   * @param maxMillis the most milliseconds to search for
+   */
+  public BacktrackingScheduler(double chunkSize, long maxNodes, long maxMillis) {
+    if (maxNodes < 1 || maxMillis < 1) {
+      throw new IllegalArgumentException("A search needs a budget of at least one node and one millisecond.");
+    }
+    this.chunkSize = chunkSize;
+    this.maxNodes = maxNodes;
+    this.maxMillis = maxMillis;
+  }
+
+  /**
+   * Returns a schedule with every given event in it, searching through the options of each.
+   * @param toSchedule the events to schedule
+   * @return a schedule with every given event in it
+   * @throws IllegalStateException if there is no such schedule, or none was found within the budget
+   */
+  @Override
+  public ISchedule schedule(List<IUnscheduledEvent> toSchedule) {
+    if (toSchedule.size() <= 0) {
+      throw new IllegalArgumentException("You cannot construct a schedule with no events.");
+    }
+    ScheduleState initial = new ScheduleState(toSchedule, this.chunkSize);
+    Frame first = nextFrame(initial);
+    if (first.baseline.eventsWithZero() > 0) {
+      throw new IllegalStateException("Some events have no places to schedule them at all.");
+    }
+    SearchBudget budget = new SearchBudget(this.maxNodes, this.maxMillis);
+
+    //each frame is one event being placed in a state, and which of its options we're on
+    List<Frame> stack = new ArrayList<Frame>();
+    stack.add(first);
+    while (true) {
+      Frame top = stack.get(stack.size() - 1);
+      if (top.next == top.candidates.size()) {
+        //no options left for this event, so backtrack to the state before it
+        stack.remove(stack.size() - 1);
+        SchedulerLog.debug(() -> "Ran out of options for " + top.event.getName());
+        if (stack.isEmpty()) {
+          throw new IllegalStateException("There is no way to schedule all of these events.");
+        }
+        continue;
+      }
+      if (!budget.tryNode()) {
+        throw new IllegalStateException("Could not find a complete schedule within "
+            + budget.nodes() + " placements and " + budget.elapsedMillis() + "ms.");
+      }
+      IOptionMetric option = top.candidates.get(top.next);
+      top.next++;
+      ScheduleState placed = top.state.place(top.event, option.getOption());
+      SchedulerLog.debug(() -> "Placed " + top.event.getName() + " at " + option.getOption());
+      if (placed.isComplete()) {
+        SchedulerLog.info(() -> "Found a complete schedule after " + budget.nodes() + " placements.");
+        return new Schedule(placed.replay());
+      }
+      stack.add(nextFrame(placed));
+    }
+  }
+
+  //non-public helper functions
+
+  /**
+   * Picks the most constrained event still to schedule in the given state, and works out
+   * the options for it worth trying, best first. Leaves out any option that would leave
+   * another event with no options.
+   * @return the frame for placing the next event in the given state
+   */
+  private Frame nextFrame(ScheduleState state) {
+    OptionBaseline baseline = state.baseline();
+    IUnscheduledEvent event = state.nextEvent();
+    List<IUnscheduledEvent> affected = state.conflicts().neighboursOf(event);
+    List<IOptionMetric> candidates = new ArrayList<IOptionMetric>();
+    Iterator<ITimeSet> options = state.iterateOptions(event);
+    while (options.hasNext()) {
+      IOptionMetric metric = event.consider(options.next(), baseline, affected);
+      if (!metric.hasZero()) {
+        candidates.add(metric);
+      }
+    }
+    //best first; the sort is stable, so equally good options stay earliest first
+    Collections.sort(candidates, new Comparator<IOptionMetric>() {
+      @Override
+      public int compare(IOptionMetric o1, IOptionMetric o2) {
+        return o2.totalOptions() - o1.totalOptions();
+      }
+    });
+    SchedulerLog.trace(() -> "Trying " + candidates.size() + " options for " + event.getName());
+    return new Frame(state, event, baseline, candidates);
+  }
+
+  /**
+   * An event being placed in a state, the options worth trying for it in the order to try
+   * them, and which of them to try next.
+   */
+  private static final class Frame {
+
+    private ScheduleState state;
+    private IUnscheduledEvent event;
+    private OptionBaseline baseline;
+    private List<IOptionMetric> candidates;
+    private int next;
+
+    Frame(ScheduleState state, IUnscheduledEvent event, OptionBaseline baseline, List<IOptionMetric> candidates) {
+      this.state = state;
+      this.event = event;
+      this.baseline = baseline;
+      this.candidates = candidates;
+      this.next = 0;
+    }
+  }
+}
@@ -0,0 +1,192 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * A Scheduler that keeps the best few partial schedules at every step instead of only one.
+ * Each partial schedule picks its next event the same way Scheduler does, and every option
+ * for that event that doesn't leave another event with no options becomes a candidate. The
+ * candidates of every partial schedule are ranked together by the number of options they
+ * leave the other events, and the best beamWidth of them are kept for the next step.
+ * With a beamWidth of 1 this finds the same schedule Scheduler does; wider beams try more
+ * alternatives at each step, trading time for a better chance of placing every event.
+ * Partial schedules are kept as ScheduleStates, so people and locations are only updated
+ * once, for the final schedule.
+ */
+public class BeamScheduler implements IScheduler {
+
+  private double chunkSize;
+  private int beamWidth;
+  private int parallelism;
+  private ForkJoinPool pool;
+
+  /**
+   * Constructs a BeamScheduler that keeps the given number of partial schedules at each step,
+   * expanding them across the given number of threads. The produced schedule does not depend
+   * on the number of threads.
+   * @param chunkSize the atomic smallest unit that scheduled times are made up of
+   * @param beamWidth the number of partial schedules to keep at each step
+   * @param parallelism the number of threads to expand partial schedules on (1 means no parallelism)
+   */
+  public BeamScheduler(double chunkSize, int beamWidth, int parallelism) {
+    if (beamWidth < 1) {
+      throw new IllegalArgumentException("A BeamScheduler needs to keep at least one partial schedule.");
+    }
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("A BeamScheduler needs at least one thread to run on.");
+    }
+    this.chunkSize = chunkSize;
+    this.beamWidth = beamWidth;
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Returns a schedule with every given event in it, from the best partial schedule left
+   * once every event has been placed.
+   * @param toSchedule the events to schedule
+   * @return a schedule with every given event in it
+   * @throws IllegalStateException if every partial schedule runs into an event with no options
+   */
+  @Override
+  public ISchedule schedule(List<IUnscheduledEvent> toSchedule) {
+    if (toSchedule.size() <= 0) {
+      throw new IllegalArgumentException("You cannot construct a schedule with no events.");
+    }
+    if (this.parallelism > 1) {
+      this.pool = new ForkJoinPool(this.parallelism);
+    }
+    try {
+      List<ScheduleState> beam = new ArrayList<ScheduleState>();
+      beam.add(new ScheduleState(toSchedule, this.chunkSize));
+      while (!beam.get(0).isComplete()) {
+        beam = step(beam);
+      }
+      return new Schedule(beam.get(0).replay());
+    } finally {
+      if (this.pool != null) {
+        this.pool.shutdown();
+        this.pool = null;
+      }
+    }
+  }
+
+  //non-public helper functions
+
+  /**
+   * Places one more event in every given partial schedule, returning the best beamWidth of
+   * the results, best first.
+   */
+  private List<ScheduleState> step(List<ScheduleState> beam) {
+    List<Callable<List<Candidate>>> expansions = new ArrayList<Callable<List<Candidate>>>();
+    for (final ScheduleState state : beam) {
+      expansions.add(new Callable<List<Candidate>>() {
+        @Override
+        public List<Candidate> call() {
+          return expand(state);
+        }
+      });
+    }
+    //candidates stay in the order of their partial schedules, then of their options,
+    //and the sort is stable, so ties always go to the earliest
+    List<Candidate> candidates = new ArrayList<Candidate>();
+    for (List<Candidate> c : runAll(expansions)) {
+      candidates.addAll(c);
+    }
+    if (candidates.isEmpty()) {
+      ScheduleState best = beam.get(0);
+      IUnscheduledEvent stuck = best.nextEvent();
+      throw new IllegalStateException("Could not find any places to schedule this: " + stuck.toString());
+    }
+    Collections.sort(candidates, new Comparator<Candidate>() {
+      @Override
+      public int compare(Candidate o1, Candidate o2) {
+        return o2.metric.totalOptions() - o1.metric.totalOptions();
+      }
+    });
+    List<Callable<ScheduleState>> placements = new ArrayList<Callable<ScheduleState>>();
+    for (final Candidate c : candidates.subList(0, Math.min(this.beamWidth, candidates.size()))) {
+      placements.add(new Callable<ScheduleState>() {
+        @Override
+        public ScheduleState call() {
+          return c.parent.place(c.event, c.metric.getOption());
+        }
+      });
+    }
+    final int placed = beam.get(0).placed() + 1;
+    SchedulerLog.debug(() -> "Kept " + placements.size() + " of " + candidates.size()
+        + " partial schedules with " + placed + " events placed.");
+    return runAll(placements);
+  }
+
+  /**
+   * Returns a candidate for every option of the next event in the given partial schedule,
+   * leaving out the options that would leave another event with no options.
+   */
+  private List<Candidate> expand(ScheduleState state) {
+    OptionBaseline baseline = state.baseline();
+    IUnscheduledEvent next = state.nextEvent();
+    List<IUnscheduledEvent> affected = state.conflicts().neighboursOf(next);
+    List<Candidate> ret = new ArrayList<Candidate>();
+    Iterator<ITimeSet> options = state.iterateOptions(next);
+    while (options.hasNext()) {
+      IOptionMetric metric = next.consider(options.next(), baseline, affected);
+      if (!metric.hasZero()) {
+        ret.add(new Candidate(state, next, metric));
+      }
+    }
+    return ret;
+  }
+
+  /**
+   * Runs every given task and returns their results in the same order, on the pool if
+   * there is one.
+   */
+  private <T> List<T> runAll(List<Callable<T>> tasks) {
+    List<T> ret = new ArrayList<T>();
+    try {
+      if (this.pool == null) {
+        for (Callable<T> task : tasks) {
+          ret.add(task.call());
+        }
+      } else {
+        for (Future<T> f : this.pool.invokeAll(tasks)) {
+          ret.add(f.get());
+        }
+      }
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException(e.getCause());
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+    return ret;
+  }
+
+  /**
+   * An option for the next event of a partial schedule, not yet placed.
+   */
+  private static final class Candidate {
+
+    private ScheduleState parent;
+    private IUnscheduledEvent event;
+    private IOptionMetric metric;
+
+    Candidate(ScheduleState parent, IUnscheduledEvent event, IOptionMetric metric) {
+      this.parent = parent;
+      this.event = event;
+      this.metric = metric;
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package model;
+
+/**
+ * Lets one thread ask a long running search on another thread to stop early. The search
+ * checks the token as it goes, and stops at the next point it can, returning the best it
+ * found so far.
+ */
+public final class CancellationToken {
+
+  private volatile boolean cancelled;
+
+  /**
+   * Asks every search checking this token to stop.
+   */
+  public void cancel() {
+    this.cancelled = true;
+  }
+
+  /**
+   * Returns whether or not this token has been cancelled.
+   * @return whether or not this token has been cancelled
+   */
+  public boolean isCancelled() {
+    return this.cancelled;
+  }
+}
@@ -0,0 +1,351 @@
+package model;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Represents a set of times as a packed bitset over a fixed grid of chunks.
+ * The 168 hour week is cut into chunks of the given chunk size, and each bit
+ * records whether that chunk is in the set (e.g. 672 bits for 15 minute chunks).
+ * Set arithmetic on two ChunkTimeSets with the same grid is done word by word,
+ * so it takes the same (small) amount of time no matter how fragmented the sets are.
+ * Note that since the set only knows which chunks it contains, adjacent intervals
+ * are always merged into a single interval.
+ */
+public class ChunkTimeSet implements ITimeSet {
+
+  private double chunkSize;
+  private int numChunks;
+  private BitSet chunks;
+
+  /**
+   * Constructs a ChunkTimeSet on the grid of the given chunk size containing a single
+   * time interval with the given start and end time.
+   * @param start the start time of the time interval
+   * @param end the end time of the time interval
+   * @param chunkSize the size of the chunks making up the grid, in hours
+   */
+  public ChunkTimeSet(double start, double end, double chunkSize) {
+    this(chunkSize);
+    if (start > end) {
+      throw new IllegalArgumentException(
+          "The beginning of a time interval cannot be greater than its end.");
+    }
+    if (start < 0.0) {
+      throw new IllegalArgumentException("Times cannot be negative.");
+    }
+    if (end > 168.0) {
+      throw new IllegalArgumentException(
+          "Times cannot be greater than 168, the number of hours in a 7-day week.");
+    }
+    this.chunks.set(chunkIndex(start), chunkIndex(end));
+  }
+
+  /**
+   * Constructs an empty ChunkTimeSet on the grid of the given chunk size.
+   * @param chunkSize the size of the chunks making up the grid, in hours
+   */
+  public ChunkTimeSet(double chunkSize) {
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("The given chunkSize must be positive.");
+    }
+    double numChunks = 168.0 / chunkSize;
+    if (Math.abs(numChunks - Math.rint(numChunks)) > 1e-9) {
+      throw new IllegalArgumentException(
+          "The given chunkSize must evenly divide the 168 hours in a week.");
+    }
+    this.chunkSize = chunkSize;
+    this.numChunks = (int) Math.rint(numChunks);
+    this.chunks = new BitSet(this.numChunks);
+  }
+
+  /**
+   * Constructs a ChunkTimeSet on the grid of the given chunk size containing exactly
+   * the same times as the given TimeSet. Every interval of the given TimeSet must start
+   * and end on the grid.
+   * @param timeSet the TimeSet whose times to copy
+   * @param chunkSize the size of the chunks making up the grid, in hours
+   */
+  public ChunkTimeSet(ITimeSet timeSet, double chunkSize) {
+    this(chunkSize);
+    for (ITimeIntervalMarker intervalMarker : timeSet.getIntervalMarkers()) {
+      if (intervalMarker.isStart()) {
+        this.chunks.set(
+            chunkIndex(intervalMarker.getTime()),
+            chunkIndex(intervalMarker.getCounterpartTime()));
+      }
+    }
+  }
+
+  /**
+   * Constructs a ChunkTimeSet with the given grid and chunks. (Does not copy the chunks.)
+   * @param chunkSize the size of the chunks making up the grid, in hours
+   * @param numChunks the number of chunks in the grid
+   * @param chunks the bitset of chunks in the set
+   */
+  private ChunkTimeSet(double chunkSize, int numChunks, BitSet chunks) {
+    this.chunkSize = chunkSize;
+    this.numChunks = numChunks;
+    this.chunks = chunks;
+  }
+
+  /**
+   * Returns the size of the chunks making up this ChunkTimeSet's grid.
+   * @return the size of the chunks making up this ChunkTimeSet's grid
+   */
+  public double getChunkSize() {
+    return this.chunkSize;
+  }
+
+  @Override
+  public List<ITimeIntervalMarker> getIntervalMarkers() {
+    List<ITimeIntervalMarker> ret = new ArrayList<ITimeIntervalMarker>();
+    for (int start = chunks.nextSetBit(0); start >= 0; start = chunks.nextSetBit(start)) {
+      int end = chunks.nextClearBit(start);
+      ret.add(new StartMarker(chunkTime(start), chunkTime(end)));
+      ret.add(new EndMarker(chunkTime(start), chunkTime(end)));
+      start = end;
+    }
+    return ret;
+  }
+
+  @Override
+  public int getWeekdayIndex() {
+    int first = chunks.nextSetBit(0);
+    if (first < 0) {
+      throw new IllegalStateException("An empty TimeSet does not begin on any weekday.");
+    }
+    return (int) Math.floor(chunkTime(first) / 24.0);
+  }
+
+  @Override
+  public ITimeSet union(ITimeSet that) {
+    BitSet ret = (BitSet) this.chunks.clone();
+    ret.or(chunksOf(that));
+    return new ChunkTimeSet(this.chunkSize, this.numChunks, ret);
+  }
+
+  @Override
+  public ITimeSet intersect(ITimeSet that) {
+    BitSet ret = (BitSet) this.chunks.clone();
+    ret.and(chunksOf(that));
+    return new ChunkTimeSet(this.chunkSize, this.numChunks, ret);
+  }
+
+  @Override
+  public ITimeSet intersect(List<ITimeSet> timeSets) {
+    BitSet ret = (BitSet) this.chunks.clone();
+    for (ITimeSet t : timeSets) {
+      ret.and(chunksOf(t));
+    }
+    return new ChunkTimeSet(this.chunkSize, this.numChunks, ret);
+  }
+
+  @Override
+  public ITimeSet complement() {
+    BitSet ret = (BitSet) this.chunks.clone();
+    ret.flip(0, this.numChunks);
+    return new ChunkTimeSet(this.chunkSize, this.numChunks, ret);
+  }
+
+  @Override
+  public ITimeSet subtract(ITimeSet that) {
+    BitSet ret = (BitSet) this.chunks.clone();
+    ret.andNot(chunksOf(that));
+    return new ChunkTimeSet(this.chunkSize, this.numChunks, ret);
+  }
+
+  @Override
+  public List<ITimeSet> allTimesOfDuration(double duration, double chunkSize) {
+    List<ITimeSet> ret = new ArrayList<ITimeSet>();
+    Iterator<ITimeSet> times = this.iterateTimesOfDuration(duration, chunkSize);
+    while (times.hasNext()) {
+      ret.add(times.next());
+    }
+    return ret;
+  }
+
+  @Override
+  public Iterator<ITimeSet> iterateTimesOfDuration(double duration, double chunkSize) {
+    TimeSet.checkDurationAndChunkSize(duration, chunkSize);
+    final int durationChunks = chunkIndex(duration);
+    final int stepChunks = chunkIndex(chunkSize);
+    return new Iterator<ITimeSet>() {
+
+      private int start = chunks.nextSetBit(0); //start of the next option, or -1 if none are left
+      private int end = start >= 0 ? chunks.nextClearBit(start) : -1; //end of the current run
+
+      {
+        skipShortRuns();
+      }
+
+      @Override
+      public boolean hasNext() {
+        return this.start >= 0;
+      }
+
+      @Override
+      public ITimeSet next() {
+        if (this.start < 0) {
+          throw new NoSuchElementException("There are no more times of this duration.");
+        }
+        BitSet option = new BitSet(numChunks);
+        option.set(this.start, this.start + durationChunks);
+        this.start += stepChunks;
+        skipShortRuns();
+        return new ChunkTimeSet(ChunkTimeSet.this.chunkSize, numChunks, option);
+      }
+
+      /**
+       * Moves on to the next run of chunks that still has room for an option, if the
+       * current one doesn't.
+       */
+      private void skipShortRuns() {
+        while (this.start >= 0 && this.start + durationChunks > this.end) {
+          this.start = chunks.nextSetBit(this.end);
+          this.end = this.start >= 0 ? chunks.nextClearBit(this.start) : -1;
+        }
+      }
+    };
+  }
+
+  @Override
+  public int countTimesOfDuration(double duration, double chunkSize) {
+    TimeSet.checkDurationAndChunkSize(duration, chunkSize);
+    int durationChunks = chunkIndex(duration);
+    int stepChunks = chunkIndex(chunkSize);
+    int count = 0;
+    for (int start = chunks.nextSetBit(0); start >= 0; start = chunks.nextSetBit(start)) {
+      int end = chunks.nextClearBit(start);
+      if (end - start >= durationChunks) {
+        count += (end - start - durationChunks) / stepChunks + 1;
+      }
+      start = end;
+    }
+    return count;
+  }
+
+  @Override
+  public ITimeSet addDays(int days) {
+    int shift = chunkIndex(24.0 * Math.abs(days)) * Integer.signum(days);
+    BitSet ret = new BitSet(this.numChunks);
+    for (int start = chunks.nextSetBit(0); start >= 0; start = chunks.nextSetBit(start)) {
+      int end = chunks.nextClearBit(start);
+      if (start + shift < 0 || end + shift > this.numChunks) {
+        throw new IllegalArgumentException(
+            "You are trying to shift by a number of days that results in illegal TimeSets.");
+      }
+      ret.set(start + shift, end + shift);
+      start = end;
+    }
+    return new ChunkTimeSet(this.chunkSize, this.numChunks, ret);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj instanceof ChunkTimeSet && ((ChunkTimeSet) obj).chunkSize == this.chunkSize) {
+      return this.chunks.equals(((ChunkTimeSet) obj).chunks);
+    }
+    if (obj instanceof ITimeSet) {
+      List<ITimeIntervalMarker> thisIntervalMarkers = this.getIntervalMarkers();
+      List<ITimeIntervalMarker> thatIntervalMarkers = ((ITimeSet) obj).getIntervalMarkers();
+      return thisIntervalMarkers.size() == thatIntervalMarkers.size()
+          && thisIntervalMarkers.containsAll(thatIntervalMarkers);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    //hash the same way TimeSet does, so equal sets of different kinds hash the same
+    double[] bounds = new double[2 * chunks.cardinality()];
+    int size = 0;
+    for (int start = chunks.nextSetBit(0); start >= 0; start = chunks.nextSetBit(start)) {
+      int end = chunks.nextClearBit(start);
+      bounds[size] = chunkTime(start);
+      bounds[size + 1] = chunkTime(end);
+      size += 2;
+      start = end;
+    }
+    return Arrays.hashCode(Arrays.copyOf(bounds, size));
+  }
+
+  @Override
+  public String toTextOutput() {
+    StringBuilder ret = new StringBuilder();
+    try {
+      this.writeTextOutput(ret);
+    } catch (IOException e) {
+      throw new IllegalStateException(e); //a StringBuilder never throws
+    }
+    return ret.toString();
+  }
+
+  @Override
+  public void writeTextOutput(Appendable out) throws IOException {
+    for (ITimeIntervalMarker intervalMarker : this.getIntervalMarkers()) {
+      if (intervalMarker.isStart()) {
+        out.append("[").append(intervalMarker.getTimeTextOutput()).append(", ")
+            .append(intervalMarker.getCounterpartTimeTextOutput()).append("]");
+        out.append(", ");
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder ret = new StringBuilder();
+    for (ITimeIntervalMarker intervalMarker : this.getIntervalMarkers()) {
+      if (intervalMarker.isStart()) {
+        ret.append("[").append(intervalMarker.getTime()).append(", ")
+            .append(intervalMarker.getCounterpartTime()).append("]");
+        ret.append(", ");
+      }
+    }
+    return ret.toString();
+  }
+
+  //non-public helper functions
+
+  /**
+   * Returns the index of the chunk beginning at the given time.
+   * @param time the time to get the chunk index of, in hours
+   * @return the index of the chunk beginning at the given time
+   */
+  private int chunkIndex(double time) {
+    double index = time / this.chunkSize;
+    long rounded = Math.round(index);
+    if (Math.abs(index - rounded) > 1e-9) {
+      throw new IllegalArgumentException(
+          "The time " + time + " does not fall on the grid of " + this.chunkSize + " hour chunks.");
+    }
+    return (int) rounded;
+  }
+
+  /**
+   * Returns the time at which the chunk with the given index begins.
+   * @param chunkIndex the index of the chunk
+   * @return the time at which the chunk with the given index begins, in hours
+   */
+  private double chunkTime(int chunkIndex) {
+    return chunkIndex * this.chunkSize;
+  }
+
+  /**
+   * Returns the chunks of the given TimeSet on this ChunkTimeSet's grid. If the given TimeSet
+   * is a ChunkTimeSet on the same grid its bitset is used directly, otherwise it is converted.
+   * @param that the TimeSet to get the chunks of
+   * @return the bitset of chunks of the given TimeSet on this grid
+   */
+  private BitSet chunksOf(ITimeSet that) {
+    if (that instanceof ChunkTimeSet && ((ChunkTimeSet) that).chunkSize == this.chunkSize) {
+      return ((ChunkTimeSet) that).chunks;
+    }
+    return new ChunkTimeSet(that, this.chunkSize).chunks;
+  }
+}
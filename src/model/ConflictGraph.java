@@ -0,0 +1,104 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records which events interfere with each other, meaning they share a location or
+ * have members in common, so that scheduling one of them can change the options of the
+ * other. Which events interfere never changes while scheduling, so this is built once
+ * up front, and lets the Scheduler only update the events a placement can actually affect.
+ * Each event is given a dense index, and the interference between every pair is stored
+ * in a bit matrix (taking n^2 / 8 bytes), so checking whether two events interfere is
+ * a single lookup.
+ */
+class ConflictGraph {
+
+  private Map<IUnscheduledEvent, Integer> indices;
+  //bit j of row i is set if the events with indices i and j interfere
+  private long[][] matrix;
+  private Map<IUnscheduledEvent, List<IUnscheduledEvent>> neighbours;
+
+  /**
+   * Constructs the ConflictGraph of the given events. (runs in O(n^2) time)
+   * @param events the events to find the conflicts between
+   */
+  ConflictGraph(List<IUnscheduledEvent> events) {
+    this.indices = new HashMap<IUnscheduledEvent, Integer>();
+    this.neighbours = new HashMap<IUnscheduledEvent, List<IUnscheduledEvent>>();
+    for (IUnscheduledEvent e : events) {
+      if (!this.indices.containsKey(e)) {
+        this.indices.put(e, this.indices.size());
+        this.neighbours.put(e, new ArrayList<IUnscheduledEvent>());
+      }
+    }
+    this.matrix = new long[this.indices.size()][(this.indices.size() + 63) / 64];
+    for (int i = 0; i < events.size(); i++) {
+      for (int j = i + 1; j < events.size(); j++) {
+        IUnscheduledEvent a = events.get(i);
+        IUnscheduledEvent b = events.get(j);
+        if (a != b && !a.independentFrom(b)) {
+          int aIndex = this.indices.get(a);
+          int bIndex = this.indices.get(b);
+          this.matrix[aIndex][bIndex / 64] |= 1L << (bIndex % 64);
+          this.matrix[bIndex][aIndex / 64] |= 1L << (aIndex % 64);
+          this.neighbours.get(a).add(b);
+          this.neighbours.get(b).add(a);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns whether or not the given events interfere, meaning scheduling one of them can change
+   * the options of the other. Events never interfere with themselves. Events this graph doesn't
+   * know about are checked directly.
+   * @param a the first event
+   * @param b the second event
+   * @return whether or not the given events share a location or members
+   */
+  boolean interferes(IUnscheduledEvent a, IUnscheduledEvent b) {
+    Integer aIndex = this.indices.get(a);
+    Integer bIndex = this.indices.get(b);
+    if (aIndex == null || bIndex == null) {
+      return a != b && !a.independentFrom(b);
+    }
+    return (this.matrix[aIndex][bIndex / 64] & (1L << (bIndex % 64))) != 0;
+  }
+
+  /**
+   * Returns the dense index of the given event in this graph, from 0 up to the number of
+   * events, or -1 if this graph doesn't know about it.
+   * @param event the event whose index to return
+   * @return the index of the given event
+   */
+  int indexOf(IUnscheduledEvent event) {
+    Integer ret = this.indices.get(event);
+    return ret == null ? -1 : ret;
+  }
+
+  /**
+   * Returns the number of events in this graph.
+   * @return the number of events in this graph
+   */
+  int size() {
+    return this.indices.size();
+  }
+
+  /**
+   * Returns the events that interfere with the given event, in the order they were given
+   * to this graph. Returns an empty list for events this graph doesn't know about.
+   * @param event the event whose neighbours to return
+   * @return the events that share a location or members with the given event
+   */
+  List<IUnscheduledEvent> neighboursOf(IUnscheduledEvent event) {
+    List<IUnscheduledEvent> ret = this.neighbours.get(event);
+    if (ret == null) {
+      return Collections.emptyList();
+    }
+    return Collections.unmodifiableList(ret);
+  }
+}
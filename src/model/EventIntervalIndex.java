@@ -0,0 +1,188 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An index of scheduled events by the times they are held at, for finding the events at a
+ * time or during some stretch of time without looking at every event. Each interval of each
+ * event's time is kept in an array sorted by its start, along with the latest end of any
+ * interval up to it, so the intervals that overlap a query are the ones just before where the
+ * query ends, back to the first one whose latest end is before the query starts.
+ * Finding them takes O(log n + k) time when the events don't overlap one another (as is the
+ * case for the events at one location), where k is the number found, and is still correct,
+ * if slower, when they do. Built once, and never changed after.
+ */
+class EventIntervalIndex {
+
+  private final double[] starts;
+  private final double[] ends;
+  private final double[] latestEnds; //the latest end of any interval from the first up to each one
+  private final IScheduledEvent[] events;
+
+  /**
+   * Constructs an index of the given events.
+   * (runs in O(n log n) time, where n is the number of intervals in their times)
+   * @param events the events to index
+   */
+  EventIntervalIndex(List<IScheduledEvent> events) {
+    List<Entry> entries = new ArrayList<Entry>();
+    for (IScheduledEvent e : events) {
+      for (ITimeIntervalMarker m : e.getTime().getIntervalMarkers()) {
+        if (m.isStart()) {
+          entries.add(new Entry(m.getTime(), m.getCounterpartTime(), e));
+        }
+      }
+    }
+    //stable, so events that start at the same time stay in the order they were given in
+    Collections.sort(entries, (e1, e2) -> Double.compare(e1.start, e2.start));
+    this.starts = new double[entries.size()];
+    this.ends = new double[entries.size()];
+    this.latestEnds = new double[entries.size()];
+    this.events = new IScheduledEvent[entries.size()];
+    for (int i = 0; i < entries.size(); i++) {
+      Entry entry = entries.get(i);
+      this.starts[i] = entry.start;
+      this.ends[i] = entry.end;
+      this.latestEnds[i] = i == 0 ? entry.end : Math.max(this.latestEnds[i - 1], entry.end);
+      this.events[i] = entry.event;
+    }
+  }
+
+  /**
+   * Returns the events going on at the given instant, that is, that start at or before it and
+   * end after it, in order of when they start.
+   * @param time the instant to find the events at, in hours from the start of the week
+   * @return the events going on at the given instant
+   */
+  List<IScheduledEvent> eventsAt(double time) {
+    List<IScheduledEvent> ret = new ArrayList<IScheduledEvent>();
+    //every interval starting at or before the time, latest first
+    for (int i = upperBound(time) - 1; i >= 0 && this.latestEnds[i] > time; i--) {
+      if (this.ends[i] > time) {
+        ret.add(this.events[i]);
+      }
+    }
+    Collections.reverse(ret);
+    return ret;
+  }
+
+  /**
+   * Returns the events that share any time with the given TimeSet, in order of when they start.
+   * Events that only touch it, ending when it starts or starting when it ends, don't count.
+   * @param time the time to find the events during
+   * @return the events overlapping the given time, each once
+   */
+  List<IScheduledEvent> eventsOverlapping(ITimeSet time) {
+    List<ITimeIntervalMarker> markers = time.getIntervalMarkers();
+    List<Integer> found = new ArrayList<Integer>();
+    for (ITimeIntervalMarker m : markers) {
+      if (m.isStart()) {
+        int before = found.size();
+        //every interval starting before the query interval ends, latest first
+        for (int i = lowerBound(m.getCounterpartTime()) - 1; i >= 0 && this.latestEnds[i] > m.getTime(); i--) {
+          if (this.ends[i] > m.getTime()) {
+            found.add(i);
+          }
+        }
+        Collections.reverse(found.subList(before, found.size()));
+      }
+    }
+    if (markers.size() > 2) {
+      //the query had more than one interval, so its finds need to be put back in order
+      Collections.sort(found);
+    }
+    List<IScheduledEvent> ret = new ArrayList<IScheduledEvent>();
+    Set<IScheduledEvent> seen = Collections.newSetFromMap(new IdentityHashMap<IScheduledEvent, Boolean>());
+    for (int i : found) {
+      if (seen.add(this.events[i])) {
+        ret.add(this.events[i]);
+      }
+    }
+    return ret;
+  }
+
+  /**
+   * Returns the events held entirely within the given TimeSet, in order of when they start.
+   * @param time the time to find the events within
+   * @return the events within the given time
+   */
+  List<IScheduledEvent> eventsWithin(ITimeSet time) {
+    List<IScheduledEvent> ret = new ArrayList<IScheduledEvent>();
+    for (IScheduledEvent e : this.eventsOverlapping(time)) {
+      if (e.getTime().subtract(time).getIntervalMarkers().isEmpty()) {
+        ret.add(e);
+      }
+    }
+    return ret;
+  }
+
+  /**
+   * Returns the event held at exactly the given time, or null if there isn't one.
+   * @param time the time to find the event at
+   * @return the event held at exactly the given time
+   */
+  IScheduledEvent eventAt(ITimeSet time) {
+    for (IScheduledEvent e : this.eventsOverlapping(time)) {
+      if (e.getTime().equals(time)) {
+        return e;
+      }
+    }
+    return null;
+  }
+
+  //non-public helper functions
+
+  /**
+   * Returns the index of the first interval starting at or after the given time.
+   */
+  private int lowerBound(double time) {
+    int lo = 0;
+    int hi = this.starts.length;
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (this.starts[mid] < time) {
+        lo = mid + 1;
+      } else {
+        hi = mid;
+      }
+    }
+    return lo;
+  }
+
+  /**
+   * Returns the index of the first interval starting after the given time.
+   */
+  private int upperBound(double time) {
+    int lo = 0;
+    int hi = this.starts.length;
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (this.starts[mid] <= time) {
+        lo = mid + 1;
+      } else {
+        hi = mid;
+      }
+    }
+    return lo;
+  }
+
+  /**
+   * One interval of an event's time.
+   */
+  private static final class Entry {
+
+    private final double start;
+    private final double end;
+    private final IScheduledEvent event;
+
+    Entry(double start, double end, IScheduledEvent event) {
+      this.start = start;
+      this.end = end;
+      this.event = event;
+    }
+  }
+}
@@ -0,0 +1,233 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An indexed binary heap of the events waiting to be scheduled, ordered so that the event
+ * that should be scheduled next is always on top. Takes multiple factors into account, including:
+ * - user provided priority levels
+ * - number of options
+ * - duration
+ * - group size
+ * Events that tie on all of these come out in the order they were added.
+ * The number of options an event has changes as other events get scheduled, so each event's
+ * count is stored in the heap and must be updated with update() whenever it changes.
+ * Polling, adding and updating all run in O(log n) time.
+ */
+class EventQueue {
+
+  private List<Entry> heap;
+  private Map<IUnscheduledEvent, Entry> entries;
+  private int added;
+
+  /**
+   * Constructs an empty EventQueue.
+   */
+  EventQueue() {
+    this.heap = new ArrayList<Entry>();
+    this.entries = new HashMap<IUnscheduledEvent, Entry>();
+    this.added = 0;
+  }
+
+  /**
+   * Adds the given event to this queue, with the given number of options.
+   * @param event the event to add
+   * @param options the number of options the event currently has
+   */
+  void add(IUnscheduledEvent event, int options) {
+    if (this.entries.containsKey(event)) {
+      throw new IllegalArgumentException("This event is already in the queue: " + event.getName());
+    }
+    Entry entry = new Entry(event, options, this.added);
+    this.added++;
+    entry.index = this.heap.size();
+    this.heap.add(entry);
+    this.entries.put(event, entry);
+    siftUp(entry.index);
+  }
+
+  /**
+   * Removes and returns the event that should be scheduled next.
+   * @return the event that should be scheduled next
+   */
+  IUnscheduledEvent poll() {
+    if (this.heap.isEmpty()) {
+      throw new IllegalStateException("There are no events in the queue.");
+    }
+    IUnscheduledEvent ret = this.heap.get(0).event;
+    this.remove(ret);
+    return ret;
+  }
+
+  /**
+   * Removes the given event from this queue, if it is in it.
+   * @param event the event to remove
+   */
+  void remove(IUnscheduledEvent event) {
+    Entry entry = this.entries.remove(event);
+    if (entry == null) {
+      return;
+    }
+    Entry last = this.heap.remove(this.heap.size() - 1);
+    if (last != entry) {
+      //move the last entry into the removed entry's place, and restore the heap from there
+      last.index = entry.index;
+      this.heap.set(last.index, last);
+      siftUp(last.index);
+      siftDown(last.index);
+    }
+  }
+
+  /**
+   * Updates the number of options of the given event, which must already be in this queue,
+   * and moves it to its new place in the queue.
+   * @param event the event to update
+   * @param options the number of options the event now has
+   */
+  void update(IUnscheduledEvent event, int options) {
+    Entry entry = this.entries.get(event);
+    if (entry == null) {
+      throw new IllegalArgumentException("This event is not in the queue: " + event.getName());
+    }
+    if (entry.options != options) {
+      entry.options = options;
+      siftUp(entry.index);
+      siftDown(entry.index);
+    }
+  }
+
+  /**
+   * Returns whether or not the given event is in this queue.
+   * @param event the event to look for
+   * @return whether or not the given event is in this queue
+   */
+  boolean contains(IUnscheduledEvent event) {
+    return this.entries.containsKey(event);
+  }
+
+  /**
+   * Returns whether or not this queue is empty.
+   * @return whether or not this queue is empty
+   */
+  boolean isEmpty() {
+    return this.heap.isEmpty();
+  }
+
+  /**
+   * Returns the number of events in this queue.
+   * @return the number of events in this queue
+   */
+  int size() {
+    return this.heap.size();
+  }
+
+  //non-public helper functions
+
+  /**
+   * Moves the entry at the given index up the heap until its parent should be scheduled before it.
+   * @param index the index of the entry to move
+   */
+  private void siftUp(int index) {
+    while (index > 0) {
+      int parent = (index - 1) / 2;
+      if (compare(this.heap.get(index), this.heap.get(parent)) >= 0) {
+        return;
+      }
+      swap(index, parent);
+      index = parent;
+    }
+  }
+
+  /**
+   * Moves the entry at the given index down the heap until it should be scheduled before
+   * both its children.
+   * @param index the index of the entry to move
+   */
+  private void siftDown(int index) {
+    while (true) {
+      int first = index;
+      int left = 2 * index + 1;
+      int right = left + 1;
+      if (left < this.heap.size() && compare(this.heap.get(left), this.heap.get(first)) < 0) {
+        first = left;
+      }
+      if (right < this.heap.size() && compare(this.heap.get(right), this.heap.get(first)) < 0) {
+        first = right;
+      }
+      if (first == index) {
+        return;
+      }
+      swap(index, first);
+      index = first;
+    }
+  }
+
+  private void swap(int i, int j) {
+    Entry a = this.heap.get(i);
+    Entry b = this.heap.get(j);
+    a.index = j;
+    b.index = i;
+    this.heap.set(i, b);
+    this.heap.set(j, a);
+  }
+
+  /**
+   * Compares the given entries, returning a negative number if the first should be scheduled
+   * before the second, and a positive number if after.
+   */
+  private int compare(Entry o1, Entry o2) {
+    return compare(o1.event, o1.options, o1.order, o2.event, o2.options, o2.order);
+  }
+
+  /**
+   * Compares the given events in the order this queue takes them out, returning a negative number
+   * if the first should be scheduled before the second, and a positive number if after.
+   * @param e1 the first event
+   * @param options1 the number of options the first event has
+   * @param order1 where the first event goes among events it ties with
+   * @param e2 the second event
+   * @param options2 the number of options the second event has
+   * @param order2 where the second event goes among events it ties with
+   * @return negative if the first event should be scheduled first, positive if the second should
+   */
+  static int compare(IUnscheduledEvent e1, int options1, int order1,
+      IUnscheduledEvent e2, int options2, int order2) {
+    //higher priority events should be scheduled first
+    if (e1.getPriority() != e2.getPriority()) {
+      return e2.getPriority() - e1.getPriority();
+    }
+    //events with less options should be scheduled first
+    if (options1 != options2) {
+      return options1 - options2;
+    }
+    //longer events should be scheduled first
+    if (e1.getDuration() != e2.getDuration()) {
+      return Double.compare(e2.getDuration(), e1.getDuration());
+    }
+    //events with bigger groups should be scheduled first
+    if (e1.getGroup().size() != e2.getGroup().size()) {
+      return e2.getGroup().size() - e1.getGroup().size();
+    }
+    return order1 - order2;
+  }
+
+  /**
+   * An event in the heap, along with what we need to know to order it.
+   */
+  private static final class Entry {
+
+    private IUnscheduledEvent event;
+    private int options;
+    private int order;
+    private int index;
+
+    Entry(IUnscheduledEvent event, int options, int order) {
+      this.event = event;
+      this.options = options;
+      this.order = order;
+    }
+  }
+}
@@ -11,6 +11,12 @@ public class Group implements IGroup {
 
   private String name;
   private Map<IPerson, Integer> personWeightMap;
+  //bit i is set if the person with id i is a member, or null if some member has no id
+  private long[] memberBits;
+  //the members in order of their ids, to tell people with the same id apart, or null along with memberBits
+  private IPerson[] membersById;
+  //the last availability computed, and what it was computed from
+  private volatile AvailabilityCache availabilityCache;
 
   /**
    * Constructs a group with the given name, containing the given people as members, with each
@@ -26,6 +32,8 @@ public class Group implements IGroup {
     for (IPerson p : members) {
       personWeightMap.put(p, 12);
     }
+    this.memberBits = memberBitsOf(this.personWeightMap.keySet());
+    this.membersById = membersByIdOf(this.personWeightMap.keySet());
   }
 
   /**
@@ -37,6 +45,8 @@ public class Group implements IGroup {
     this.name = name;
     this.personWeightMap = new HashMap<IPerson, Integer>();
     personWeightMap.put(singleMember, 12);
+    this.memberBits = memberBitsOf(this.personWeightMap.keySet());
+    this.membersById = membersByIdOf(this.personWeightMap.keySet());
   }
 
   /**
@@ -45,6 +55,8 @@ public class Group implements IGroup {
   public Group() {
     this.name = "Empty";
     this.personWeightMap = new HashMap<IPerson, Integer>();
+    this.memberBits = memberBitsOf(this.personWeightMap.keySet());
+    this.membersById = membersByIdOf(this.personWeightMap.keySet());
   }
 
   /**
@@ -54,11 +66,34 @@ public class Group implements IGroup {
    */
   public Group(String name, Map<IPerson, Integer> personWeightMap) {
     this.name = name;
-    this.personWeightMap = personWeightMap;
+    this.personWeightMap = new HashMap<IPerson, Integer>(personWeightMap);
+    this.memberBits = memberBitsOf(this.personWeightMap.keySet());
+    this.membersById = membersByIdOf(this.personWeightMap.keySet());
   }
 
+  /**
+   * Returns the TimeSet of times when every member of this group is available. Remembers the
+   * last one computed, along with each member's version at the time, and only recomputes it
+   * if a member's availability has been set since (or the members have changed).
+   * @return the TimeSet of times when every member of this group is available
+   */
   @Override
   public ITimeSet getAvailability() {
+    AvailabilityCache cache = this.availabilityCache;
+    if (cache != null && cache.isUpToDate(this.getMembers())) {
+      return cache.availability;
+    }
+    ITimeSet ret = computeAvailability();
+    this.availabilityCache = new AvailabilityCache(this.getMembers(), ret);
+    return ret;
+  }
+
+  /**
+   * Returns the intersection of every member's current availability. (runs in O(k * m) time,
+   * where k is the number of members and m the number of intervals in their availabilities)
+   * @return the TimeSet of times when every member of this group is available
+   */
+  private ITimeSet computeAvailability() {
     Set<IPerson> members = this.getMembers();
     List<ITimeSet> allAvailabilities = new ArrayList<ITimeSet>();
     for (IPerson p : members) {
@@ -71,9 +106,13 @@ public class Group implements IGroup {
     }
   }
 
+  /**
+   * Returns the set of people that are members of this group, which cannot be modified.
+   * @return the set of people that are members of this group
+   */
   @Override
   public Set<IPerson> getMembers() {
-    return personWeightMap.keySet();
+    return Collections.unmodifiableSet(personWeightMap.keySet());
   }
 
   @Override
@@ -89,6 +128,46 @@ public class Group implements IGroup {
     return ret;
   }
 
+  /**
+   * Returns whether or not this group and the given group have any members in common. If every
+   * member of both groups has an id, this ANDs their member bitsets a word at a time, and only
+   * counts an id in both as a common member if it is the same person in both (copies of a person,
+   * or people read in separately, can share an id without being the same person). Otherwise
+   * checks each member of the smaller group against the bigger one. Never allocates.
+   * @param g the group to check for common members with
+   * @return whether or not this group and the given group have any members in common
+   */
+  @Override
+  public boolean sharesMembersWith(IGroup g) {
+    if (g instanceof Group && this.memberBits != null && ((Group) g).memberBits != null) {
+      Group them = (Group) g;
+      int words = Math.min(this.memberBits.length, them.memberBits.length);
+      for (int i = 0; i < words; i++) {
+        long both = this.memberBits[i] & them.memberBits[i];
+        while (both != 0) {
+          int id = i * 64 + Long.numberOfTrailingZeros(both);
+          if (this.sharesMemberWithId(them, id)) {
+            return true;
+          }
+          both &= both - 1; //on to the next id in both
+        }
+      }
+      return false;
+    }
+    Set<IPerson> smaller = this.getMembers();
+    Set<IPerson> bigger = g.getMembers();
+    if (smaller.size() > bigger.size()) {
+      smaller = g.getMembers();
+      bigger = this.getMembers();
+    }
+    for (IPerson member : smaller) {
+      if (bigger.contains(member)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   @Override
   public int size() {
     return this.personWeightMap.entrySet().size();
@@ -97,16 +176,16 @@ public class Group implements IGroup {
   @Override
   public String toString() {
     Set<IPerson> myMembers = this.getMembers();
-    String ret = this.name + ": (";
+    StringBuilder ret = new StringBuilder(this.name).append(": (");
     int i = 1;
     for (IPerson member : myMembers) {
-      ret += member.toString();
+      ret.append(member.toString());
       if (i != myMembers.size()) {
-        ret += ", ";
+        ret.append(", ");
       }
       i++;
     }
-    return ret + ")";
+    return ret.append(")").toString();
   }
 
   @Override
@@ -117,4 +196,116 @@ public class Group implements IGroup {
     }
     return new Group(this.name, copyWeightMap);
   }
+
+  /**
+   * Returns the bitset of the ids of the given people, with bit i (bit i % 64 of word i / 64)
+   * set if the person with id i is one of them, or null if any of them has no id.
+   * @param members the people to make the bitset of
+   * @return the bitset of the given people's ids
+   */
+  private static long[] memberBitsOf(Set<IPerson> members) {
+    int maxId = -1;
+    for (IPerson p : members) {
+      if (p.getId() < 0) {
+        return null;
+      }
+      maxId = Math.max(maxId, p.getId());
+    }
+    long[] ret = new long[maxId / 64 + 1];
+    for (IPerson p : members) {
+      ret[p.getId() / 64] |= 1L << (p.getId() % 64);
+    }
+    return ret;
+  }
+
+  /**
+   * Returns the given people in order of their ids, or null if any of them has no id.
+   * @param members the people to put in order
+   * @return the given people in order of their ids
+   */
+  private static IPerson[] membersByIdOf(Set<IPerson> members) {
+    IPerson[] ret = members.toArray(new IPerson[members.size()]);
+    for (IPerson p : ret) {
+      if (p.getId() < 0) {
+        return null;
+      }
+    }
+    Arrays.sort(ret, (p1, p2) -> Integer.compare(p1.getId(), p2.getId()));
+    return ret;
+  }
+
+  /**
+   * Returns whether or not one of this group's members with the given id is also one of the
+   * given group's members with it. Both groups must have some member with the given id.
+   * (runs in O(log k) time, where k is the number of members, unless many members share the id)
+   */
+  private boolean sharesMemberWithId(Group them, int id) {
+    for (int i = this.firstWithId(id); i < this.membersById.length && this.membersById[i].getId() == id; i++) {
+      for (int j = them.firstWithId(id); j < them.membersById.length && them.membersById[j].getId() == id; j++) {
+        if (this.membersById[i] == them.membersById[j]) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the index in membersById of the first member with the given id or a later one.
+   */
+  private int firstWithId(int id) {
+    int lo = 0;
+    int hi = this.membersById.length;
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (this.membersById[mid].getId() < id) {
+        lo = mid + 1;
+      } else {
+        hi = mid;
+      }
+    }
+    return lo;
+  }
+
+  /**
+   * An availability of this group, along with the members and member versions it was computed
+   * from. Never changed once made, so threads reading the group's availability at the same
+   * time always see a consistent one.
+   */
+  private static final class AvailabilityCache {
+
+    private final IPerson[] members;
+    private final long[] versions;
+    private final ITimeSet availability;
+
+    AvailabilityCache(Set<IPerson> members, ITimeSet availability) {
+      this.members = new IPerson[members.size()];
+      this.versions = new long[members.size()];
+      int i = 0;
+      for (IPerson p : members) {
+        this.members[i] = p;
+        this.versions[i] = p.getVersion();
+        i++;
+      }
+      this.availability = availability;
+    }
+
+    /**
+     * Returns whether or not this availability was computed from exactly the given members,
+     * at their current versions.
+     */
+    boolean isUpToDate(Set<IPerson> curMembers) {
+      if (curMembers.size() != this.members.length) {
+        return false;
+      }
+      int i = 0;
+      for (IPerson p : curMembers) {
+        if (p != this.members[i] || p.getVersion() != this.versions[i]) {
+          return false;
+        }
+        i++;
+      }
+      return true;
+    }
+  }
 }
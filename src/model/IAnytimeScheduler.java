@@ -0,0 +1,23 @@
+package model;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Describes functionality for a class that constructs a schedule within a time limit. Instead
+ * of either finishing or throwing, it keeps looking for better schedules until the time runs
+ * out or it is cancelled, and then returns the best it has found so far, even if that only
+ * has some of the events in it.
+ */
+public interface IAnytimeScheduler {
+
+  /**
+   * Returns the best schedule found for the given events within the given budget, along with
+   * how it was found.
+   * @param toSchedule the events to schedule
+   * @param budget how long to look for, at most
+   * @param token checked while looking, to stop early
+   * @return the best complete or partial schedule found, and stats on the search
+   */
+  AnytimeResult schedule(List<IUnscheduledEvent> toSchedule, Duration budget, CancellationToken token);
+}
@@ -27,6 +27,14 @@ public interface IGroup {
    */
   Set<IPerson> getCommonMembersWith(IGroup g);
 
+  /**
+   * Returns whether or not this group and the given group have any members in common.
+   * Same as checking that getCommonMembersWith is not empty, without building the set.
+   * @param g the group to check for common members with
+   * @return whether or not this group and the given group have any members in common
+   */
+  boolean sharesMembersWith(IGroup g);
+
   /**
    * Returns the number of people in this group.
    * @return the number of people in this group
@@ -21,6 +21,13 @@ public interface ILocation {
    */
   void addEvent(IScheduledEvent event);
 
+  /**
+   * Removes the given scheduled event from this location, undoing addEvent, so that
+   * this location is available at the event's time again.
+   * @param event the event to remove
+   */
+  void removeEvent(IScheduledEvent event);
+
   /**
    * Returns the name of this location.
    * @return the name of this location
@@ -2,9 +2,10 @@ package model;
 
 /**
  * Describes functionality for accessing data necessary in determining
- * the optimality of this OptionMetric's option.
+ * the optimality of this OptionMetric's option. Comparing two OptionMetrics gives a positive
+ * value when the first is the better option, and any OptionMetric is better than null.
  */
-public interface IOptionMetric {
+public interface IOptionMetric extends Comparable<IOptionMetric> {
 
   /**
    * Returns the option that this OptionMetric has data about.
@@ -22,12 +22,27 @@ public interface IPerson {
   //TODO consider adding a more controlled, targeted mutator method, this ones a bit too powerful
   void setCurrentAvailability(ITimeSet t);
 
+  /**
+   * Returns the version of this Person's current availability, which changes every time it is set,
+   * so anything computed from it can tell whether it is still up to date.
+   * @return the version of this Person's current availability
+   */
+  long getVersion();
+
   /**
    * Returns the name of this Person.
    * @return the name of this Person
    */
   String getName();
 
+  /**
+   * Returns the id of this Person. People read in together are given dense ids, counting up
+   * from 0, so sets of them can be stored as bitsets. Different people read in together have
+   * different ids, but a copy keeps its person's id, and people read in separately can share ids.
+   * @return the id of this Person, or -1 if it was never given one
+   */
+  int getId();
+
   /**
    * Returns a person that is a copy of this person.
    * @return a copy of this person
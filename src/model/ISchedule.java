@@ -1,5 +1,8 @@
 package model;
 
+import java.io.IOException;
+import java.util.List;
+
 /**
  * Describes functionality for a schedule that is meant to be
  * a final product, mainly for the purpose of carrying and
@@ -32,6 +35,62 @@ public interface ISchedule {
    */
   IScheduledEvent getEventAt(ITimeSet time, String locationName);
 
+  /**
+   * Returns the events going on at the given instant at the given location, in order of when
+   * they start. An event is going on from its start up to, but not including, its end.
+   * @param time the instant to get the events at, in hours from the start of the week
+   * @param location the location to get the events at
+   * @return the events at the given instant and location
+   */
+  List<IScheduledEvent> getEventsAt(double time, ILocation location);
+
+  /**
+   * Returns the events at the given location that share any time with the given time, in order
+   * of when they start (e.g. what's in Room1 between 6 and 8pm on Tuesday). Events that end
+   * just as it starts, or start just as it ends, don't count.
+   * @param time the time to get the events during
+   * @param location the location to get the events at
+   * @return the events overlapping the given time at the given location
+   */
+  List<IScheduledEvent> getEventsOverlapping(ITimeSet time, ILocation location);
+
+  /**
+   * Returns the events at the given location held entirely within the given time, in order
+   * of when they start.
+   * @param time the time to get the events within
+   * @param location the location to get the events at
+   * @return the events within the given time at the given location
+   */
+  List<IScheduledEvent> getEventsWithin(ITimeSet time, ILocation location);
+
+  /**
+   * Returns the events the given person is in, through any of their groups, in order of when
+   * they start. Empty if they aren't in any.
+   * @param person the person to get the agenda of
+   * @return the events the given person is in, which cannot be modified
+   */
+  List<IScheduledEvent> getAgendaOf(IPerson person);
+
+  /**
+   * Returns the events of the given group, in order of when they start. Empty if it has none.
+   * @param group the group to get the agenda of
+   * @return the events of the given group, which cannot be modified
+   */
+  List<IScheduledEvent> getAgendaOf(IGroup group);
+
+  /**
+   * Returns the events in this schedule, in the order they were scheduled.
+   * @return the events in this schedule, which cannot be modified
+   */
+  List<IScheduledEvent> getEvents();
+
+  /**
+   * Returns the events that couldn't be placed in this schedule, with why, if it was made
+   * without every event. Empty if every event was placed.
+   * @return the events that couldn't be placed, which cannot be modified
+   */
+  List<UnplacedEvent> getUnplaced();
+
   /**
    * Returns the info in this schedule as a user friendly string
    * Very similar to toString, but gives times as human readable ones
@@ -39,4 +98,12 @@ public interface ISchedule {
    * @return the info in this schedule as a user friendly string
    */
   String toTextOutput();
+
+  /**
+   * Writes the info in this schedule as a user friendly string, the same as toTextOutput(),
+   * to the given Appendable as it goes, without building the whole string first.
+   * @param out where to write this schedule
+   * @throws IOException if the given Appendable can't be written to
+   */
+  void writeTextOutput(Appendable out) throws IOException;
 }
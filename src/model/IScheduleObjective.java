@@ -0,0 +1,22 @@
+package model;
+
+/**
+ * Describes functionality for a way of scoring a complete schedule, so that schedules can be
+ * compared and improved. The cost of a schedule is the sum of the costs of its events, and the
+ * cost of an event may only depend on its own time and the times it could have been held at
+ * instead. That way moving one event only changes the costs of that event and the events that
+ * share a location or members with it.
+ */
+public interface IScheduleObjective {
+
+  /**
+   * Returns the cost of holding the given event at the given time, when the rest of the
+   * schedule leaves it free to be held anywhere in the given availability. Lower is better.
+   * @param event the event being held
+   * @param time the time it is held at
+   * @param availability the times it could be held at, given every other event's time
+   * @param chunkSize the atomic smallest unit that scheduled times are made up of
+   * @return the cost of holding the given event at the given time
+   */
+  double costOf(IUnscheduledEvent event, ITimeSet time, ITimeSet availability, double chunkSize);
+}
@@ -1,5 +1,7 @@
 package model;
 
+import java.io.IOException;
+
 /**
  * Describes functionality for an event that has already been scheduled.
  */
@@ -19,4 +21,12 @@ public interface IScheduledEvent {
    * @return the info in this event as a user friendly string
    */
   String toTextOutput();
+
+  /**
+   * Writes the info in this event as a user friendly string, the same as toTextOutput(),
+   * to the given Appendable, without building the string first.
+   * @param out where to write this event
+   * @throws IOException if the given Appendable can't be written to
+   */
+  void writeTextOutput(Appendable out) throws IOException;
 }
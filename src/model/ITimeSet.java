@@ -2,6 +2,8 @@ package model;
 
 import com.sun.corba.se.spi.ior.IORTemplate;
 
+import java.io.IOException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -79,6 +81,26 @@ public interface ITimeSet {
    */
   List<ITimeSet> allTimesOfDuration(double duration, double chunkSize);
 
+  /**
+   * Returns the number of continuous TimeSets of the given duration contained within
+   * this TimeSet, counted the same way as allTimesOfDuration, but without building them.
+   * This is always equal to the size of the list allTimesOfDuration would return.
+   * @param duration the duration of the TimeSets to count
+   * @param chunkSize the size of the chunks TimeSets must be made up of
+   * @return the number of continuous TimeSets of the given duration in this TimeSet
+   */
+  int countTimesOfDuration(double duration, double chunkSize);
+
+  /**
+   * Returns an iterator over the same TimeSets allTimesOfDuration would return, in the same
+   * order, but which only builds each TimeSet when it is asked for. This lets callers stop
+   * early without paying for the options they never look at.
+   * @param duration the duration of the TimeSets to iterate over
+   * @param chunkSize the size of the chunks TimeSets must be made up of
+   * @return an iterator over all continuous TimeSets of the given duration in this TimeSet
+   */
+  Iterator<ITimeSet> iterateTimesOfDuration(double duration, double chunkSize);
+
   /**
    * Returns the TimeSet that contains all the same times as this one, but shifted forward
    * by the given number of days. (or backward if the number of days is negative)
@@ -92,4 +114,12 @@ public interface ITimeSet {
    * @return this TimeSet as a readable string mean tto be seen by a user
    */
   String toTextOutput();
+
+  /**
+   * Writes this TimeSet as a readable string meant to be seen by a user, the same as
+   * toTextOutput(), to the given Appendable, without building the string first.
+   * @param out where to write this TimeSet
+   * @throws IOException if the given Appendable can't be written to
+   */
+  void writeTextOutput(Appendable out) throws IOException;
 }
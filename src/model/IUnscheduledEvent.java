@@ -1,5 +1,6 @@
 package model;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -29,6 +30,16 @@ public interface IUnscheduledEvent {
    */
   IOptionMetric consider(ITimeSet considered, Map<IUnscheduledEvent, ITimeSet> toBeScheduled, double chunkSize);
 
+  /**
+   * Returns the OptionMetric containing info about the option of scheduling this event at the given time,
+   * recounting the options of only the given affected events and taking every other event's from the baseline.
+   * @param considered the time we are considering scheduling this event at
+   * @param baseline the options every event that still needs to be scheduled has right now
+   * @param affected the events that share a location or members with this event
+   * @return the OptionMetric containing info about the option of scheduling this event at the given time
+   */
+  IOptionMetric consider(ITimeSet considered, OptionBaseline baseline, List<IUnscheduledEvent> affected);
+
   /**
    * Returns the times during which this event could be scheduled. Takes into account both the availability
    * of its members, AND the availability of its location.
@@ -50,6 +61,14 @@ public interface IUnscheduledEvent {
    */
   List<ITimeSet> getOptions(double chunkSize);
 
+  /**
+   * Returns an iterator over the same options getOptions would return, in the same order,
+   * building each one only when it is asked for.
+   * @param chunkSize the chunkSize to use to determine the options
+   * @return an iterator over the distinct times that are valid options for scheduling this event
+   */
+  Iterator<ITimeSet> iterateOptions(double chunkSize);
+
   /**
    * Returns whether or not this event is independent from the given event.
    * This means that it does not share any members and does not share a location.
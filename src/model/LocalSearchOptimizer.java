@@ -0,0 +1,309 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * A Scheduler that improves on the schedule another Scheduler finds. Starting from that
+ * schedule, it tries random moves: shifting an event to another of its options, or swapping
+ * the times of two events of the same duration. A move is kept if every event still fits
+ * around everyone else, and it lowers the cost of the schedule under the given objective, or
+ * raises it by little enough to get past the simulated annealing rule (so the search can
+ * climb out of local minimums early on, and settles down as the budget runs out).
+ * Only the moved events and the events that share a location or members with them can change
+ * cost, so each move costs time proportional to the number of those, not of every event.
+ * The cheapest schedule seen is returned once the budget runs out. The search cools by the
+ * number of moves tried out of its budget of moves, or by the time used if it has no budget of
+ * moves, so with a budget of moves the moves tried and kept only depend on the seed, and a run
+ * that stops on its number of moves rather than its time can be repeated.
+ */
+public class LocalSearchOptimizer implements IScheduler {
+
+  private IScheduler first;
+  private double chunkSize;
+  private IScheduleObjective objective;
+  private long maxMoves;
+  private long maxMillis;
+  private double temperature;
+  private long seed;
+
+  //search state
+  private ConflictGraph conflicts;
+  private Map<IUnscheduledEvent, ITimeSet> baseAvailabilities;
+  private Map<IUnscheduledEvent, ITimeSet> times;
+  private Map<IUnscheduledEvent, Double> costs;
+  private Map<Double, List<IUnscheduledEvent>> byDuration;
+  private Random random;
+
+  /**
+   * Constructs a LocalSearchOptimizer that improves on the schedules of the given Scheduler.
+   * @param first the Scheduler to find the schedule to start from
+   * @param chunkSize the atomic smallest unit that scheduled times are made up of
+   * @param objective the cost to lower
+   * @param maxMoves the most moves to try
+   * @param maxMillis the most milliseconds to search for
+   * @param temperature how much of an increase in cost a move can make and still likely be kept,
+   *                    at the start of the search (0 means only moves that don't increase the cost)
+   * @param seed the seed of the randomness of the moves
+   */
+  public LocalSearchOptimizer(IScheduler first, double chunkSize, IScheduleObjective objective,
+      long maxMoves, long maxMillis, double temperature, long seed) {
+    if (maxMoves < 1 || maxMillis < 1) {
+      throw new IllegalArgumentException("A search needs a budget of at least one move and one millisecond.");
+    }
+    if (temperature < 0) {
+      throw new IllegalArgumentException("The temperature cannot be negative.");
+    }
+    this.first = first;
+    this.chunkSize = chunkSize;
+    this.objective = objective;
+    this.maxMoves = maxMoves;
+    this.maxMillis = maxMillis;
+    this.temperature = temperature;
+    this.seed = seed;
+  }
+
+  /**
+   * Constructs a LocalSearchOptimizer that improves on the slack of the schedules of the given
+   * Scheduler for the given amount of time.
+   * @param first the Scheduler to find the schedule to start from
+   * @param chunkSize the atomic smallest unit that scheduled times are made up of
+   * @param maxMillis the most milliseconds to search for
+   * @param seed the seed of the randomness of the moves
+   */
+  public LocalSearchOptimizer(IScheduler first, double chunkSize, long maxMillis, long seed) {
+    this(first, chunkSize, new SlackObjective(), Long.MAX_VALUE, maxMillis, 1.0, seed);
+  }
+
+  /**
+   * Returns the cheapest schedule found, starting from the given Scheduler's schedule.
+   * @param toSchedule the events to schedule
+   * @return the cheapest schedule found with every given event in it
+   * @throws IllegalStateException if the given Scheduler can't schedule every event
+   */
+  @Override
+  public ISchedule schedule(List<IUnscheduledEvent> toSchedule) {
+    if (toSchedule.size() <= 0) {
+      throw new IllegalArgumentException("You cannot construct a schedule with no events.");
+    }
+    //remember everyone's availability from before the first schedule, to move events around in
+    Map<IPerson, ITimeSet> personBases = new HashMap<IPerson, ITimeSet>();
+    for (IUnscheduledEvent e : toSchedule) {
+      for (IPerson p : e.getGroup().getMembers()) {
+        personBases.put(p, p.getCurrentAvailability());
+      }
+    }
+    this.baseAvailabilities = new HashMap<IUnscheduledEvent, ITimeSet>();
+    for (IUnscheduledEvent e : toSchedule) {
+      this.baseAvailabilities.put(e, e.getAvailability());
+    }
+    ISchedule firstSchedule = this.first.schedule(toSchedule);
+    List<IUnscheduledEvent> events;
+    try {
+      events = matchEvents(firstSchedule, toSchedule);
+    } catch (IllegalStateException e) {
+      //there's nothing to search from, so leave everyone as they were before the first schedule
+      takeBack(firstSchedule, personBases);
+      throw e;
+    }
+
+    this.conflicts = new ConflictGraph(toSchedule);
+    this.random = new Random(this.seed);
+    this.costs = new HashMap<IUnscheduledEvent, Double>();
+    this.byDuration = new HashMap<Double, List<IUnscheduledEvent>>();
+    double cost = 0;
+    for (IUnscheduledEvent e : events) {
+      double c = costOf(e);
+      this.costs.put(e, c);
+      cost += c;
+      if (!this.byDuration.containsKey(e.getDuration())) {
+        this.byDuration.put(e.getDuration(), new ArrayList<IUnscheduledEvent>());
+      }
+      this.byDuration.get(e.getDuration()).add(e);
+    }
+    double firstCost = cost;
+    double bestCost = cost;
+    Map<IUnscheduledEvent, ITimeSet> best = new HashMap<IUnscheduledEvent, ITimeSet>(this.times);
+    SearchBudget budget = new SearchBudget(this.maxMoves, this.maxMillis);
+    while (budget.tryNode()) {
+      double delta = tryRandomMove(this.temperature * (1 - progress(budget)), events);
+      if (!Double.isNaN(delta)) {
+        cost += delta;
+        if (cost < bestCost) {
+          bestCost = cost;
+          best = new HashMap<IUnscheduledEvent, ITimeSet>(this.times);
+        }
+      }
+    }
+    final double bestFound = bestCost;
+    SchedulerLog.info(() -> "Local search lowered the cost from " + firstCost + " to " + bestFound
+        + " in " + budget.nodes() + " moves.");
+
+    //take back the first schedule, and schedule every event at its best time instead
+    takeBack(firstSchedule, personBases);
+    List<IScheduledEvent> scheduled = new ArrayList<IScheduledEvent>();
+    for (IUnscheduledEvent e : events) {
+      scheduled.add(new ScheduledEvent(e, best.get(e)));
+    }
+    return new Schedule(scheduled);
+  }
+
+  //non-public helper functions
+
+  /**
+   * Takes back the given schedule, giving everyone back the given availabilities from before
+   * it and removing its events from their locations.
+   */
+  private void takeBack(ISchedule schedule, Map<IPerson, ITimeSet> personBases) {
+    for (Map.Entry<IPerson, ITimeSet> e : personBases.entrySet()) {
+      e.getKey().setCurrentAvailability(e.getValue());
+    }
+    for (IScheduledEvent e : schedule.getEvents()) {
+      e.getLocation().removeEvent(e);
+    }
+  }
+
+  /**
+   * Works out which of the given events each event in the given schedule was scheduled from,
+   * by its name, group, location and duration, filling in this.times. Returns the events in
+   * the order they were scheduled. Throws an IllegalStateException if any of the given events
+   * wasn't scheduled, since there would be no time to move it from.
+   */
+  private List<IUnscheduledEvent> matchEvents(ISchedule schedule, List<IUnscheduledEvent> toSchedule) {
+    Map<String, List<IUnscheduledEvent>> unmatched = new HashMap<String, List<IUnscheduledEvent>>();
+    for (IUnscheduledEvent e : toSchedule) {
+      if (!unmatched.containsKey(e.getName())) {
+        unmatched.put(e.getName(), new ArrayList<IUnscheduledEvent>());
+      }
+      unmatched.get(e.getName()).add(e);
+    }
+    List<IUnscheduledEvent> ret = new ArrayList<IUnscheduledEvent>();
+    this.times = new HashMap<IUnscheduledEvent, ITimeSet>();
+    for (IScheduledEvent s : schedule.getEvents()) {
+      List<IUnscheduledEvent> sameName = unmatched.get(s.getName());
+      IUnscheduledEvent match = null;
+      for (int i = 0; sameName != null && i < sameName.size() && match == null; i++) {
+        IUnscheduledEvent e = sameName.get(i);
+        if (e.getGroup() == s.getGroup() && e.getLocation() == s.getLocation()
+            && s.getTime().countTimesOfDuration(e.getDuration(), this.chunkSize) == 1) {
+          match = sameName.remove(i);
+        }
+      }
+      if (match == null) {
+        throw new IllegalStateException("This event was not one of the events to schedule: " + s.getName());
+      }
+      ret.add(match);
+      this.times.put(match, s.getTime());
+    }
+    if (!schedule.getUnplaced().isEmpty() || ret.size() != toSchedule.size()) {
+      throw new IllegalStateException("Only " + ret.size() + " of the " + toSchedule.size()
+          + " events were scheduled to start from.");
+    }
+    return ret;
+  }
+
+  /**
+   * Tries one random move, returning the change in cost if it was kept, or NaN if it wasn't.
+   */
+  private double tryRandomMove(double temperature, List<IUnscheduledEvent> events) {
+    IUnscheduledEvent e = events.get(this.random.nextInt(events.size()));
+    List<IUnscheduledEvent> sameDuration = this.byDuration.get(e.getDuration());
+    if (this.random.nextBoolean() && sameDuration.size() > 1) {
+      //swap with another event of the same duration
+      IUnscheduledEvent other = sameDuration.get(this.random.nextInt(sameDuration.size()));
+      if (other == e || this.times.get(other).equals(this.times.get(e))) {
+        return Double.NaN;
+      }
+      return tryMove(new IUnscheduledEvent[] {e, other},
+          new ITimeSet[] {this.times.get(other), this.times.get(e)}, temperature);
+    }
+    //shift to another of its options
+    ITimeSet availability = availabilityOf(e);
+    int k = this.random.nextInt(availability.countTimesOfDuration(e.getDuration(), this.chunkSize));
+    Iterator<ITimeSet> options = availability.iterateTimesOfDuration(e.getDuration(), this.chunkSize);
+    for (int i = 0; i < k; i++) {
+      options.next();
+    }
+    ITimeSet to = options.next();
+    if (to.equals(this.times.get(e))) {
+      return Double.NaN;
+    }
+    return tryMove(new IUnscheduledEvent[] {e}, new ITimeSet[] {to}, temperature);
+  }
+
+  /**
+   * Moves the given events to the given times, and keeps the move if every event still fits
+   * and the change in cost passes the simulated annealing rule at the given temperature.
+   * Returns the change in cost if the move was kept, otherwise takes it back and returns NaN.
+   */
+  private double tryMove(IUnscheduledEvent[] moved, ITimeSet[] to, double temperature) {
+    ITimeSet[] from = new ITimeSet[moved.length];
+    for (int i = 0; i < moved.length; i++) {
+      from[i] = this.times.put(moved[i], to[i]);
+    }
+    boolean fits = true;
+    for (IUnscheduledEvent e : moved) {
+      fits = fits && this.times.get(e).subtract(availabilityOf(e)).getIntervalMarkers().isEmpty();
+    }
+    if (fits) {
+      //only the moved events and their neighbours can have changed cost
+      Set<IUnscheduledEvent> affected = new LinkedHashSet<IUnscheduledEvent>();
+      for (IUnscheduledEvent e : moved) {
+        affected.add(e);
+        affected.addAll(this.conflicts.neighboursOf(e));
+      }
+      Map<IUnscheduledEvent, Double> newCosts = new HashMap<IUnscheduledEvent, Double>();
+      double delta = 0;
+      for (IUnscheduledEvent e : affected) {
+        double c = costOf(e);
+        newCosts.put(e, c);
+        delta += c - this.costs.get(e);
+      }
+      if (delta <= 0 || (temperature > 0 && this.random.nextDouble() < Math.exp(-delta / temperature))) {
+        this.costs.putAll(newCosts);
+        return delta;
+      }
+    }
+    for (int i = moved.length - 1; i >= 0; i--) {
+      this.times.put(moved[i], from[i]);
+    }
+    return Double.NaN;
+  }
+
+  /**
+   * Returns the times the given event could be held at, given every other event's time.
+   * (runs in O(d) time, where d is the number of events it shares a location or members with)
+   */
+  private ITimeSet availabilityOf(IUnscheduledEvent event) {
+    ITimeSet ret = this.baseAvailabilities.get(event);
+    for (IUnscheduledEvent e : this.conflicts.neighboursOf(event)) {
+      ret = ret.subtract(this.times.get(e));
+    }
+    return ret;
+  }
+
+  private double costOf(IUnscheduledEvent event) {
+    return this.objective.costOf(event, this.times.get(event), availabilityOf(event), this.chunkSize);
+  }
+
+  /**
+   * Returns how much of the given budget has been used, from 0 to 1: the moves tried out of
+   * the most moves if there is a most, so the cooling doesn't depend on how fast the moves run,
+   * otherwise the time used out of the most time.
+   */
+  private double progress(SearchBudget budget) {
+    double ret;
+    if (this.maxMoves != Long.MAX_VALUE) {
+      ret = (double) budget.nodes() / this.maxMoves;
+    } else {
+      ret = (double) budget.elapsedMillis() / this.maxMillis;
+    }
+    return Math.min(1, ret);
+  }
+}
@@ -60,6 +60,18 @@ public class Location implements ILocation {
     this.events.add(event);
   }
 
+  @Override
+  public void removeEvent(IScheduledEvent event) {
+    if (!this.events.remove(event)) {
+      throw new IllegalArgumentException("This event is not at this location: " + event.getName());
+    }
+    //rebuild the unavailability from the events left, in the order they were added
+    this.unavailability = new TimeSet();
+    for (IScheduledEvent e : this.events) {
+      this.unavailability = this.unavailability.union(e.getTime());
+    }
+  }
+
   @Override
   public String toString() {
     return name;
@@ -0,0 +1,217 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A Scheduler that runs the greedy pass of Scheduler several times, breaking its ties
+ * differently each time, and keeps the best schedule by the given objective. Scheduler breaks
+ * every tie the same way (events by the order they were given in, options by the earliest),
+ * so one unlucky order decides the whole schedule; here every start after the first breaks
+ * ties at random instead, with its own seed. The first start breaks ties the way Scheduler
+ * does, so the result is never worse than Scheduler's when it has time to finish.
+ * Starts run across the given number of threads, all from the same ScheduleState, and each
+ * start's schedule only depends on its seed, so any start can be run again on its own.
+ * Starts still running when the time runs out are dropped.
+ */
+public class MultiStartScheduler implements IScheduler {
+
+  private double chunkSize;
+  private int starts;
+  private int parallelism;
+  private long maxMillis;
+  private long seed;
+  private IScheduleObjective objective;
+
+  /**
+   * Constructs a MultiStartScheduler that runs the given number of starts, scoring their
+   * schedules by the given objective.
+   * @param chunkSize the atomic smallest unit that scheduled times are made up of
+   * @param starts the number of greedy passes to run
+   * @param parallelism the number of threads to run them on (1 means no parallelism)
+   * @param maxMillis the most milliseconds to run for
+   * @param seed the seed of the first random start, which the seeds of the rest count up from
+   * @param objective the cost to keep the cheapest schedule by
+   */
+  public MultiStartScheduler(double chunkSize, int starts, int parallelism, long maxMillis, long seed,
+      IScheduleObjective objective) {
+    if (starts < 1) {
+      throw new IllegalArgumentException("A MultiStartScheduler needs to run at least one start.");
+    }
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("A MultiStartScheduler needs at least one thread to run on.");
+    }
+    if (maxMillis < 1) {
+      throw new IllegalArgumentException("A MultiStartScheduler needs at least one millisecond to run for.");
+    }
+    this.chunkSize = chunkSize;
+    this.starts = starts;
+    this.parallelism = parallelism;
+    this.maxMillis = maxMillis;
+    this.seed = seed;
+    this.objective = objective;
+  }
+
+  /**
+   * Constructs a MultiStartScheduler that keeps the schedule with the most slack.
+   * @param chunkSize the atomic smallest unit that scheduled times are made up of
+   * @param starts the number of greedy passes to run
+   * @param parallelism the number of threads to run them on (1 means no parallelism)
+   * @param maxMillis the most milliseconds to run for
+   * @param seed the seed of the first random start, which the seeds of the rest count up from
+   */
+  public MultiStartScheduler(double chunkSize, int starts, int parallelism, long maxMillis, long seed) {
+    this(chunkSize, starts, parallelism, maxMillis, seed, new SlackObjective());
+  }
+
+  /**
+   * Returns the cheapest schedule found by any start.
+   * @param toSchedule the events to schedule
+   * @return the cheapest schedule found with every given event in it
+   * @throws IllegalStateException if no start placed every event in time
+   */
+  @Override
+  public ISchedule schedule(List<IUnscheduledEvent> toSchedule) {
+    if (toSchedule.size() <= 0) {
+      throw new IllegalArgumentException("You cannot construct a schedule with no events.");
+    }
+    final ScheduleState initial = new ScheduleState(toSchedule, this.chunkSize);
+    final long deadline = System.nanoTime() + this.maxMillis * 1000000L;
+    List<Callable<ScheduleState>> passes = new ArrayList<Callable<ScheduleState>>();
+    for (int i = 0; i < this.starts; i++) {
+      final int start = i;
+      passes.add(new Callable<ScheduleState>() {
+        @Override
+        public ScheduleState call() {
+          return greedyPass(initial, start, deadline);
+        }
+      });
+    }
+    List<ScheduleState> finished = new ArrayList<ScheduleState>();
+    if (this.parallelism > 1) {
+      ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+      try {
+        for (Future<ScheduleState> f : pool.invokeAll(passes)) {
+          finished.add(f.get());
+        }
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        throw new IllegalStateException(e.getCause());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException(e);
+      } finally {
+        pool.shutdown();
+      }
+    } else {
+      for (int i = 0; i < this.starts; i++) {
+        finished.add(greedyPass(initial, i, deadline));
+      }
+    }
+
+    //the cheapest finished start wins, and ties go to the earliest start
+    ScheduleState best = null;
+    double bestCost = 0;
+    int bestStart = -1;
+    for (int i = 0; i < finished.size(); i++) {
+      ScheduleState state = finished.get(i);
+      if (state != null) {
+        double cost = state.costUnder(this.objective);
+        if (best == null || cost < bestCost) {
+          best = state;
+          bestCost = cost;
+          bestStart = i;
+        }
+      }
+    }
+    if (best == null) {
+      throw new IllegalStateException("None of the " + this.starts + " starts could schedule every event in "
+          + this.maxMillis + "ms.");
+    }
+    final int winner = bestStart;
+    final double winnerCost = bestCost;
+    SchedulerLog.info(() -> "Start " + winner + " found the cheapest schedule, with a cost of " + winnerCost);
+    return new Schedule(best.replay());
+  }
+
+  //non-public helper functions
+
+  /**
+   * Runs the given start's greedy pass from the given state, returning the complete state,
+   * or null if some event ran out of options or the time ran out.
+   */
+  private ScheduleState greedyPass(ScheduleState initial, int start, long deadline) {
+    Random random = start == 0 ? null : new Random(this.seed + start);
+    ScheduleState ret = greedyPass(initial, random, () -> System.nanoTime() - deadline > 0, false);
+    return ret.isComplete() ? ret : null;
+  }
+
+  /**
+   * Runs one greedy pass from the given state, breaking ties at random by the given Random,
+   * or the way Scheduler does if it is null. Returns the state it got to: complete, or with
+   * some events left if the next event ran out of options (and they aren't being left out) or
+   * the pass was told to stop.
+   * @param initial the state to start from
+   * @param random the randomness to break ties with, or null to break them the way Scheduler does
+   * @param stopped checked before placing each event, to stop the pass early
+   * @param leaveOut whether to leave out events that run out of options and go on, rather than stop
+   * @return the state the pass got to
+   */
+  static ScheduleState greedyPass(ScheduleState initial, Random random, BooleanSupplier stopped,
+      boolean leaveOut) {
+    int[] order = null;
+    if (random != null) {
+      //a random order of events to break ties with
+      order = new int[initial.conflicts().size()];
+      for (int i = 0; i < order.length; i++) {
+        order[i] = i;
+      }
+      for (int i = order.length - 1; i > 0; i--) {
+        int k = random.nextInt(i + 1);
+        int swapped = order[i];
+        order[i] = order[k];
+        order[k] = swapped;
+      }
+    }
+    ScheduleState state = initial;
+    while (state.remaining() > 0 && !stopped.getAsBoolean()) {
+      OptionBaseline baseline = state.baseline();
+      IUnscheduledEvent next = state.nextEvent(order);
+      List<IUnscheduledEvent> affected = state.conflicts().neighboursOf(next);
+      IOptionMetric best = null;
+      int ties = 0;
+      Iterator<ITimeSet> options = state.iterateOptions(next);
+      while (options.hasNext()) {
+        IOptionMetric metric = next.consider(options.next(), baseline, affected);
+        int comparison = metric.compareTo(best);
+        if (comparison > 0) {
+          best = metric;
+          ties = 1;
+        } else if (comparison == 0 && random != null) {
+          //every tied option is equally likely to be kept
+          ties++;
+          if (random.nextInt(ties) == 0) {
+            best = metric;
+          }
+        }
+      }
+      if (best == null && leaveOut) {
+        state = state.leaveOut(next);
+      } else if (best == null) {
+        return state;
+      } else {
+        state = state.place(next, best.getOption());
+      }
+    }
+    return state;
+  }
+}
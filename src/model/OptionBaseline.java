@@ -0,0 +1,167 @@
+package model;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Carries the number of options every event still to be scheduled has right now, before
+ * the next event is placed, so that an OptionMetric for an option only has to recount the
+ * events that option can actually take options from, and can take every other event's count
+ * from here. Counted once, when scheduling starts, and then kept up to date between steps by
+ * recounting only the events whose availabilities the last step changed. A schedule that
+ * already keeps every event's count can instead hand its counts over without anything being
+ * recounted.
+ */
+public class OptionBaseline {
+
+  private Function<IUnscheduledEvent, ITimeSet> availabilities; //gives null for events not in this
+  private ToIntFunction<IUnscheduledEvent> options; //gives -1 for events not in this
+  private Map<IUnscheduledEvent, Integer> counts; //null if the counts are kept by someone else
+  private int totalOptions;
+  private int eventsWithZero;
+  private double chunkSize;
+
+  /**
+   * Constructs the OptionBaseline of the given events, counting each one's options in its
+   * given availability. Keeps the given map, so that once the availabilities in it change,
+   * recount() and remove() can bring this baseline up to date. (runs in O(n) time)
+   * @param availabilities the events still to be scheduled, mapped to their availabilities
+   * @param chunkSize the atomic smallest unit that our TimeSets should be made up of
+   */
+  public OptionBaseline(Map<IUnscheduledEvent, ITimeSet> availabilities, double chunkSize) {
+    Map<IUnscheduledEvent, Integer> counts = new HashMap<IUnscheduledEvent, Integer>();
+    this.counts = counts;
+    this.availabilities = availabilities::get;
+    this.options = e -> counts.getOrDefault(e, -1);
+    this.chunkSize = chunkSize;
+    this.totalOptions = 0;
+    this.eventsWithZero = 0;
+    for (Map.Entry<IUnscheduledEvent, ITimeSet> e : availabilities.entrySet()) {
+      int curEventOptions = e.getValue().countTimesOfDuration(e.getKey().getDuration(), chunkSize);
+      counts.put(e.getKey(), curEventOptions);
+      this.totalOptions += curEventOptions;
+      if (curEventOptions == 0) {
+        this.eventsWithZero++;
+      }
+    }
+  }
+
+  /**
+   * Constructs the OptionBaseline of counts kept by someone else, without counting anything.
+   * (runs in O(1) time)
+   * @param availabilities gives the availability of each event still to be scheduled, or null
+   *                       for any other event
+   * @param options gives the number of options of each event still to be scheduled, or -1
+   *                for any other event
+   * @param totalOptions the sum of the options of every event still to be scheduled
+   * @param eventsWithZero the number of events still to be scheduled with no options
+   * @param chunkSize the atomic smallest unit that our TimeSets should be made up of
+   */
+  OptionBaseline(Function<IUnscheduledEvent, ITimeSet> availabilities, ToIntFunction<IUnscheduledEvent> options,
+      int totalOptions, int eventsWithZero, double chunkSize) {
+    this.availabilities = availabilities;
+    this.options = options;
+    this.totalOptions = totalOptions;
+    this.eventsWithZero = eventsWithZero;
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * Returns whether or not the given event is one of the events in this baseline.
+   * @param event the event to look for
+   * @return whether or not the given event is in this baseline
+   */
+  public boolean contains(IUnscheduledEvent event) {
+    return this.options.applyAsInt(event) >= 0;
+  }
+
+  /**
+   * Returns the number of options the given event has right now.
+   * @param event the event whose number of options to return
+   * @return the number of options the given event has right now
+   */
+  public int optionsOf(IUnscheduledEvent event) {
+    int ret = this.options.applyAsInt(event);
+    if (ret < 0) {
+      throw new IllegalArgumentException("This event is not in the baseline: " + event.getName());
+    }
+    return ret;
+  }
+
+  /**
+   * Returns the availability the given event's options were counted in.
+   * @param event the event whose availability to return
+   * @return the availability of the given event
+   */
+  public ITimeSet availabilityOf(IUnscheduledEvent event) {
+    ITimeSet ret = this.availabilities.apply(event);
+    if (ret == null) {
+      throw new IllegalArgumentException("This event is not in the baseline: " + event.getName());
+    }
+    return ret;
+  }
+
+  /**
+   * Recounts the options of the given event from its availability in the map this baseline was
+   * made from, after that availability has changed.
+   * @param event the event to recount, which must be in this baseline
+   */
+  void recount(IUnscheduledEvent event) {
+    int before = this.optionsOf(event);
+    int after = this.availabilityOf(event).countTimesOfDuration(event.getDuration(), this.chunkSize);
+    this.countsToChange().put(event, after);
+    this.totalOptions += after - before;
+    this.eventsWithZero += (after == 0 ? 1 : 0) - (before == 0 ? 1 : 0);
+  }
+
+  /**
+   * Removes the given event from this baseline, once it has been scheduled or left out.
+   * @param event the event to remove, which must be in this baseline
+   */
+  void remove(IUnscheduledEvent event) {
+    int before = this.optionsOf(event);
+    this.countsToChange().remove(event);
+    this.totalOptions -= before;
+    if (before == 0) {
+      this.eventsWithZero--;
+    }
+  }
+
+  /**
+   * Returns the sum of the options of all the events in this baseline.
+   * @return the total number of options between all events in this baseline
+   */
+  public int totalOptions() {
+    return this.totalOptions;
+  }
+
+  /**
+   * Returns the number of events in this baseline that have no options.
+   * @return the number of events in this baseline with zero options
+   */
+  public int eventsWithZero() {
+    return this.eventsWithZero;
+  }
+
+  /**
+   * Returns the chunkSize used in counting the options in this baseline.
+   * @return the chunkSize used in counting the options in this baseline
+   */
+  public double chunkSize() {
+    return this.chunkSize;
+  }
+
+  //non-public helper functions
+
+  /**
+   * Returns the counts of this baseline, so long as it keeps its own.
+   */
+  private Map<IUnscheduledEvent, Integer> countsToChange() {
+    if (this.counts == null) {
+      throw new IllegalStateException("This baseline's counts are kept by someone else, and cannot be changed.");
+    }
+    return this.counts;
+  }
+}
@@ -2,6 +2,7 @@ package model;
 
 import javax.swing.text.html.Option;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -10,11 +11,13 @@ import java.util.Optional;
  * Mainly includes information that will be useful in determining this option's
  * optimality in a given schedule.
  */
-public class OptionMetric implements IOptionMetric, Comparable<IOptionMetric>{
+public class OptionMetric implements IOptionMetric {
 
   private ITimeSet option;
   private int totalOptions;
   private Map<IUnscheduledEvent, EventInfo> eventInfoMap;
+  private OptionBaseline baseline;
+  private int eventsWithZero;
   private double chunkSize;
 
   public OptionMetric(
@@ -37,24 +40,29 @@ public class OptionMetric implements IOptionMetric, Comparable<IOptionMetric>{
       if (!event.equals(curEvent)) { //make sure we don't count ourselves
         if (event.getLocation().equals(curEvent.getLocation())) { //if current event and this have same location
           curEventOptions
-              = curTimeSet.subtract(considered).allTimesOfDuration(curEvent.getDuration(), chunkSize).size();
+              = curTimeSet.subtract(considered).countTimesOfDuration(curEvent.getDuration(), chunkSize);
               //System.out.println("        (Location-Shared-Case)");
         } else { //if current event and this DO NOT have the same location
-          if (event.getGroup().getCommonMembersWith(curEvent.getGroup()).size() > 0) { //if current event and this share members
+          if (event.getGroup().sharesMembersWith(curEvent.getGroup())) { //if current event and this share members
             //if they have common members, we can't count the time we're considering as part of their options
             //System.out.println("        (Members-Shared-Case)");
             curEventOptions
-                = curTimeSet.subtract(considered).allTimesOfDuration(curEvent.getDuration(), chunkSize).size();
+                = curTimeSet.subtract(considered).countTimesOfDuration(curEvent.getDuration(), chunkSize);
           } else { //if current even and this DO NOT share members
             //we can just count their options as is, since they're unaffected by us scheduling this event
             //System.out.println("        (None-Shared-Case)");
-            curEventOptions = curTimeSet.allTimesOfDuration(curEvent.getDuration(), chunkSize).size();
+            curEventOptions = curTimeSet.countTimesOfDuration(curEvent.getDuration(), chunkSize);
           }
         }
         totalOptions += curEventOptions;
+        if (curEventOptions == 0) {
+          this.eventsWithZero++;
+        }
         eventInfoMap.put(curEvent, new EventInfo(curTimeSet, curEventOptions));
-        System.out.println("      Just counted " + curEventOptions + " options for " + curEvent.getName()
-            + ", total of: " + totalOptions);
+        final int counted = curEventOptions;
+        final int totalSoFar = totalOptions;
+        SchedulerLog.trace(() -> "      Just counted " + counted + " options for " + curEvent.getName()
+            + ", total of: " + totalSoFar);
       }
       //System.out.println("Total options is now: " + totalOptions + ", after scheduling " + curEvent.getName());
     }
@@ -62,6 +70,57 @@ public class OptionMetric implements IOptionMetric, Comparable<IOptionMetric>{
     this.totalOptions = totalOptions;
   }
 
+  /**
+   * Constructs the OptionMetric of scheduling the given event at the given time, only recounting the
+   * options of the given affected events. Every other event's options can't change by scheduling this
+   * event, so they are taken from the baseline, and the total is the baseline's total minus what the
+   * affected events lose. (runs in time proportional to the number of affected events)
+   * @param event the event we are considering scheduling
+   * @param considered the time we are considering scheduling the event at
+   * @param baseline the options every event still to be scheduled has right now
+   * @param affected the events that share a location or members with the given event
+   */
+  public OptionMetric(
+      IUnscheduledEvent event,
+      ITimeSet considered,
+      OptionBaseline baseline,
+      List<IUnscheduledEvent> affected) {
+    eventInfoMap = new HashMap<IUnscheduledEvent, EventInfo>(); //initialize map
+    this.option = considered;
+    this.baseline = baseline;
+    this.chunkSize = baseline.chunkSize();
+    if (!considered.intersect(event.getAvailability()).equals(considered)) {
+      throw new IllegalArgumentException(
+          "You cannot consider scheduling an event during a TimeSet that is not within its availability.");
+    }
+    int totalOptions = baseline.totalOptions();
+    int eventsWithZero = baseline.eventsWithZero();
+    if (baseline.contains(event)) { //make sure we don't count ourselves
+      totalOptions -= baseline.optionsOf(event);
+      if (baseline.optionsOf(event) == 0) {
+        eventsWithZero--;
+      }
+    }
+    for (IUnscheduledEvent curEvent : affected) {
+      if (!event.equals(curEvent) && baseline.contains(curEvent)) {
+        ITimeSet curTimeSet = baseline.availabilityOf(curEvent);
+        int before = baseline.optionsOf(curEvent);
+        int curEventOptions
+            = curTimeSet.subtract(considered).countTimesOfDuration(curEvent.getDuration(), this.chunkSize);
+        totalOptions -= before - curEventOptions;
+        if (before == 0) {
+          eventsWithZero--;
+        }
+        if (curEventOptions == 0) {
+          eventsWithZero++;
+        }
+        eventInfoMap.put(curEvent, new EventInfo(curTimeSet, curEventOptions));
+      }
+    }
+    this.totalOptions = totalOptions;
+    this.eventsWithZero = eventsWithZero;
+  }
+
   @Override
   public ITimeSet getOption() {
     return this.option;
@@ -74,17 +133,16 @@ public class OptionMetric implements IOptionMetric, Comparable<IOptionMetric>{
 
   @Override
   public int optionsOf(IUnscheduledEvent event) {
-    return this.eventInfoMap.get(event).options();
+    EventInfo info = this.eventInfoMap.get(event);
+    if (info == null && this.baseline != null) { //unaffected by this option, so unchanged from the baseline
+      return this.baseline.optionsOf(event);
+    }
+    return info.options();
   }
 
   @Override
   public boolean hasZero() {
-    for (EventInfo e : this.eventInfoMap.values()) {
-      if (e.options() == 0) {
-        return true;
-      }
-    }
-    return false;
+    return this.eventsWithZero > 0;
   }
 
   @Override
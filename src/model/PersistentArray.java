@@ -0,0 +1,115 @@
+package model;
+
+import java.util.List;
+
+/**
+ * An immutable fixed size array, where setting an element gives a new array and leaves this
+ * one as it was. Stored as a tree with 32 children per node, so setting an element only copies
+ * the nodes on the path down to it, and shares every other node with the array it came from.
+ * (get and set run in O(log32(n)) time, which is at most 4 steps for a million elements)
+ * @param <T> the type of the elements
+ */
+final class PersistentArray<T> {
+
+  private static final int BITS = 5;
+  private static final int WIDTH = 1 << BITS;
+  private static final int MASK = WIDTH - 1;
+
+  private final int size;
+  private final int shift; //how far to shift an index to get its child at the root
+  private final Object[] root;
+
+  /**
+   * Constructs a PersistentArray holding the given values, in the same order.
+   * @param values the values to hold
+   */
+  PersistentArray(List<T> values) {
+    this.size = values.size();
+    int shift = 0;
+    while ((long) WIDTH << shift < this.size) {
+      shift += BITS;
+    }
+    this.shift = shift;
+    this.root = build(values, 0, shift);
+  }
+
+  private PersistentArray(int size, int shift, Object[] root) {
+    this.size = size;
+    this.shift = shift;
+    this.root = root;
+  }
+
+  /**
+   * Returns the number of elements in this array.
+   * @return the number of elements in this array
+   */
+  int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns the element at the given index.
+   * @param index the index of the element to return
+   * @return the element at the given index
+   */
+  @SuppressWarnings("unchecked")
+  T get(int index) {
+    checkIndex(index);
+    Object[] node = this.root;
+    for (int s = this.shift; s > 0; s -= BITS) {
+      node = (Object[]) node[(index >>> s) & MASK];
+    }
+    return (T) node[index & MASK];
+  }
+
+  /**
+   * Returns the array with the given element set to the given value, leaving this one as it was.
+   * @param index the index of the element to set
+   * @param value the value to set it to
+   * @return the array with the given element set to the given value
+   */
+  PersistentArray<T> set(int index, T value) {
+    checkIndex(index);
+    return new PersistentArray<T>(this.size, this.shift, set(this.root, this.shift, index, value));
+  }
+
+  //non-public helper functions
+
+  /**
+   * Returns the node holding the given values from the given offset on, at the given level.
+   */
+  private static Object[] build(List<?> values, int offset, int shift) {
+    Object[] ret = new Object[WIDTH];
+    if (shift == 0) {
+      for (int i = 0; i < WIDTH && offset + i < values.size(); i++) {
+        ret[i] = values.get(offset + i);
+      }
+    } else {
+      for (int i = 0; i < WIDTH && offset + (i << shift) < values.size(); i++) {
+        ret[i] = build(values, offset + (i << shift), shift - BITS);
+      }
+    }
+    return ret;
+  }
+
+  /**
+   * Returns a copy of the given node with the given index set to the given value, copying
+   * only the nodes on the path down to it.
+   */
+  private static Object[] set(Object[] node, int shift, int index, Object value) {
+    Object[] ret = node.clone();
+    if (shift == 0) {
+      ret[index & MASK] = value;
+    } else {
+      int child = (index >>> shift) & MASK;
+      ret[child] = set((Object[]) node[child], shift - BITS, index, value);
+    }
+    return ret;
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= this.size) {
+      throw new IndexOutOfBoundsException("Index " + index + " is outside of an array of size " + this.size);
+    }
+  }
+}
@@ -11,6 +11,8 @@ public class Person implements IPerson {
   private String name;
   private ITimeSet defaultAvailability; //TODO almost certainly dont need this
   private ITimeSet currentAvailability;
+  private long version; //bumped every time currentAvailability is set
+  private int id;
 
   /**
    * Constructs a Person with the given name and availability.
@@ -18,9 +20,23 @@ public class Person implements IPerson {
    * @param defaultAvailability the availability to start them with
    */
   public Person(String name, ITimeSet defaultAvailability) {
+    this(name, defaultAvailability, -1);
+  }
+
+  /**
+   * Constructs a Person with the given name, availability and id.
+   * @param name the name of the person to construct
+   * @param defaultAvailability the availability to start them with
+   * @param id the dense id of the person, unique among the people read in with them, or -1 if unassigned
+   */
+  public Person(String name, ITimeSet defaultAvailability, int id) {
+    if (id < -1) {
+      throw new IllegalArgumentException("A Person's id must be -1 (unassigned) or at least 0.");
+    }
     this.name = name;
     this.defaultAvailability = defaultAvailability;
     this.currentAvailability = defaultAvailability;
+    this.id = id;
   }
 
   /**
@@ -28,11 +44,13 @@ public class Person implements IPerson {
    * @param name the new Person's name
    * @param defaultAvailability the new Person's default availability
    * @param currentAvailability the new Person's current availability
+   * @param id the new Person's id
    */
-  private Person(String name, ITimeSet defaultAvailability, ITimeSet currentAvailability) {
+  private Person(String name, ITimeSet defaultAvailability, ITimeSet currentAvailability, int id) {
     this.name = name;
     this.defaultAvailability = defaultAvailability;
     this.currentAvailability = currentAvailability;
+    this.id = id;
   }
 
   @Override
@@ -52,6 +70,17 @@ public class Person implements IPerson {
           "You cannot set a Person's current availability to null.");
     }
     this.currentAvailability = t;
+    this.version++;
+  }
+
+  @Override
+  public long getVersion() {
+    return this.version;
+  }
+
+  @Override
+  public int getId() {
+    return this.id;
   }
 
   @Override
@@ -63,7 +92,7 @@ public class Person implements IPerson {
   public IPerson copy() {
     //all of Person's fields are non-mutable, so we can use the same actual objects
     //just make a new person, with fields pointing to the same things
-    return new Person(this.name, this.defaultAvailability, this.currentAvailability);
+    return new Person(this.name, this.defaultAvailability, this.currentAvailability, this.id);
   }
 
   @Override
@@ -1,6 +1,8 @@
 package model;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -14,50 +16,66 @@ public class Schedule implements ISchedule {
 
   private String name;
   private List<IScheduledEvent> events;
-  private Map<ITimeSet, List<IScheduledEvent>> timeEventMap; //for constant time access to events by time
+  private List<UnplacedEvent> unplaced;
+  //for access to events by time, without looking through every event
+  private Map<ILocation, EventIntervalIndex> locationIndices;
+  private Map<String, EventIntervalIndex> locationNameIndices;
+  //for access to everyone's events in order, without looking through every event
+  private Map<IPerson, List<IScheduledEvent>> personAgendas;
+  private Map<IGroup, List<IScheduledEvent>> groupAgendas;
   private String[] weekdays =
       {"Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday", "Sunday"};
 
   public Schedule(String name, List<IScheduledEvent> events) {
     this.name = name;
     this.events = events;
-    this.timeEventMap = new HashMap<ITimeSet, List<IScheduledEvent>>();
-    for (IScheduledEvent e : events) {
-      ITimeSet time = e.getTime();
-      if (timeEventMap.get(time) == null) {
-        timeEventMap.put(time, new ArrayList<IScheduledEvent>());
-      }
-      timeEventMap.get(time).add(e);
-    }
+    this.unplaced = new ArrayList<UnplacedEvent>();
+    this.indexEvents();
+    this.indexAgendas();
   }
 
   public Schedule(List<IScheduledEvent> events) {
+    this(events, new ArrayList<UnplacedEvent>());
+  }
+
+  /**
+   * Constructs a Schedule of the given events, missing the given events that couldn't be placed.
+   * @param events the events that were scheduled
+   * @param unplaced the events that couldn't be, with why
+   */
+  public Schedule(List<IScheduledEvent> events, List<UnplacedEvent> unplaced) {
     this.name = "[PlaceholderName]";
     this.events = events;
-    this.timeEventMap = new HashMap<ITimeSet, List<IScheduledEvent>>();
-    for (IScheduledEvent e : events) {
-      ITimeSet time = e.getTime();
-      if (timeEventMap.get(time) == null) {
-        timeEventMap.put(time, new ArrayList<IScheduledEvent>());
-      }
-      timeEventMap.get(time).add(e);
-    }
+    this.unplaced = unplaced;
+    this.indexEvents();
+    this.indexAgendas();
   }
 
   @Override
   //TODO make nicely formatted and cleaned up, this is just rough
   public String toString() {
-    String ret = this.name + ":\n\n";
+    StringBuilder ret = new StringBuilder(this.name).append(":\n\n");
     for (IScheduledEvent e : this.events) {
-      ret += e.toString() + "\n";
+      ret.append(e.toString()).append("\n");
     }
-    return ret;
+    return ret.toString();
   }
 
   @Override
   public String toTextOutput() {
+    StringBuilder ret = new StringBuilder();
+    try {
+      this.writeTextOutput(ret);
+    } catch (IOException e) {
+      throw new IllegalStateException(e); //a StringBuilder never throws
+    }
+    return ret.toString();
+  }
+
+  @Override
+  public void writeTextOutput(Appendable out) throws IOException {
     String newline = System.lineSeparator();
-    String ret = this.name + ":" + newline + newline;
+    out.append(this.name).append(":").append(newline).append(newline);
     //first make lists of what events are on what days
     List<List<IScheduledEvent>> theWeek = new ArrayList<List<IScheduledEvent>>();
     //populate theWeek with 7 empty arraylists of events
@@ -69,39 +87,140 @@ public class Schedule implements ISchedule {
       //determine weekday index [0-6]
       int weekdayIndex = e.getTime().getWeekdayIndex(); //needs testing
       theWeek.get(weekdayIndex).add(e); //add the event to the proper weekday list
-      System.out.println("Added to weekday " + weekdayIndex + ": " + e.toString());
+      SchedulerLog.debug(() -> "Added to weekday " + weekdayIndex + ": " + e.toString());
     }
-    //now print all the events on each weekday
+    //now write all the events on each weekday
     for (int i = 0; i < theWeek.size(); i++) {
-      ret += this.weekdays[i] + ":" + newline + "---" + newline; //print the day name
+      out.append(this.weekdays[i]).append(":").append(newline).append("---").append(newline); //the day name
       List<IScheduledEvent> weekdayEvents = theWeek.get(i);
       for (IScheduledEvent e : weekdayEvents) {
-        ret += e.toTextOutput() + newline;
+        e.writeTextOutput(out);
+        out.append(newline);
+      }
+    }
+    //then the events we couldn't place, if any
+    if (!this.unplaced.isEmpty()) {
+      out.append("Unplaced:").append(newline).append("---").append(newline);
+      for (UnplacedEvent e : this.unplaced) {
+        out.append(e.toString()).append(newline);
       }
     }
-    return ret;
+  }
+
+  @Override
+  public List<IScheduledEvent> getEvents() {
+    return Collections.unmodifiableList(this.events);
+  }
+
+  @Override
+  public List<UnplacedEvent> getUnplaced() {
+    return Collections.unmodifiableList(this.unplaced);
   }
 
   @Override
   public IScheduledEvent getEventAt(ITimeSet time, ILocation location) {
-    List<IScheduledEvent> eventsAtTime = this.timeEventMap.get(time);
-    for (IScheduledEvent e : eventsAtTime) {
-      if (e.getLocation().equals(location)) {
-        return e;
-      }
-    }
-    return null;
+    EventIntervalIndex index = this.locationIndices.get(location);
+    return index == null ? null : index.eventAt(time);
   }
 
   @Override
   public IScheduledEvent getEventAt(ITimeSet time, String locationName) {
-    List<IScheduledEvent> eventsAtTime = this.timeEventMap.get(time);
-    for (IScheduledEvent e : eventsAtTime) {
-      if (e.getLocation().getName().equals(locationName)) {
-        return e;
+    EventIntervalIndex index = this.locationNameIndices.get(locationName);
+    return index == null ? null : index.eventAt(time);
+  }
+
+  @Override
+  public List<IScheduledEvent> getEventsAt(double time, ILocation location) {
+    EventIntervalIndex index = this.locationIndices.get(location);
+    return index == null ? new ArrayList<IScheduledEvent>() : index.eventsAt(time);
+  }
+
+  @Override
+  public List<IScheduledEvent> getEventsOverlapping(ITimeSet time, ILocation location) {
+    EventIntervalIndex index = this.locationIndices.get(location);
+    return index == null ? new ArrayList<IScheduledEvent>() : index.eventsOverlapping(time);
+  }
+
+  @Override
+  public List<IScheduledEvent> getEventsWithin(ITimeSet time, ILocation location) {
+    EventIntervalIndex index = this.locationIndices.get(location);
+    return index == null ? new ArrayList<IScheduledEvent>() : index.eventsWithin(time);
+  }
+
+  @Override
+  public List<IScheduledEvent> getAgendaOf(IPerson person) {
+    List<IScheduledEvent> ret = this.personAgendas.get(person);
+    return ret == null ? Collections.<IScheduledEvent>emptyList() : ret;
+  }
+
+  @Override
+  public List<IScheduledEvent> getAgendaOf(IGroup group) {
+    List<IScheduledEvent> ret = this.groupAgendas.get(group);
+    return ret == null ? Collections.<IScheduledEvent>emptyList() : ret;
+  }
+
+  //non-public helper functions
+
+  /**
+   * Builds the index of the events at each location, by both the location and its name.
+   */
+  private void indexEvents() {
+    Map<ILocation, List<IScheduledEvent>> byLocation = new HashMap<ILocation, List<IScheduledEvent>>();
+    Map<String, List<IScheduledEvent>> byLocationName = new HashMap<String, List<IScheduledEvent>>();
+    for (IScheduledEvent e : this.events) {
+      if (!byLocation.containsKey(e.getLocation())) {
+        byLocation.put(e.getLocation(), new ArrayList<IScheduledEvent>());
+      }
+      byLocation.get(e.getLocation()).add(e);
+      if (!byLocationName.containsKey(e.getLocation().getName())) {
+        byLocationName.put(e.getLocation().getName(), new ArrayList<IScheduledEvent>());
+      }
+      byLocationName.get(e.getLocation().getName()).add(e);
+    }
+    this.locationIndices = new HashMap<ILocation, EventIntervalIndex>();
+    for (Map.Entry<ILocation, List<IScheduledEvent>> e : byLocation.entrySet()) {
+      this.locationIndices.put(e.getKey(), new EventIntervalIndex(e.getValue()));
+    }
+    this.locationNameIndices = new HashMap<String, EventIntervalIndex>();
+    for (Map.Entry<String, List<IScheduledEvent>> e : byLocationName.entrySet()) {
+      this.locationNameIndices.put(e.getKey(), new EventIntervalIndex(e.getValue()));
+    }
+  }
+
+  /**
+   * Builds the agenda of every person and group with an event, with their events in order of
+   * when they start (and in the order they were scheduled if they start at the same time).
+   */
+  private void indexAgendas() {
+    List<IScheduledEvent> byStart = new ArrayList<IScheduledEvent>(this.events);
+    Collections.sort(byStart, (e1, e2) -> Double.compare(startOf(e1), startOf(e2)));
+    this.personAgendas = new HashMap<IPerson, List<IScheduledEvent>>();
+    this.groupAgendas = new HashMap<IGroup, List<IScheduledEvent>>();
+    for (IScheduledEvent e : byStart) {
+      if (!this.groupAgendas.containsKey(e.getGroup())) {
+        this.groupAgendas.put(e.getGroup(), new ArrayList<IScheduledEvent>());
+      }
+      this.groupAgendas.get(e.getGroup()).add(e);
+      for (IPerson p : e.getGroup().getMembers()) {
+        if (!this.personAgendas.containsKey(p)) {
+          this.personAgendas.put(p, new ArrayList<IScheduledEvent>());
+        }
+        this.personAgendas.get(p).add(e);
       }
     }
-    return null;
+    for (Map.Entry<IPerson, List<IScheduledEvent>> e : this.personAgendas.entrySet()) {
+      e.setValue(Collections.unmodifiableList(e.getValue()));
+    }
+    for (Map.Entry<IGroup, List<IScheduledEvent>> e : this.groupAgendas.entrySet()) {
+      e.setValue(Collections.unmodifiableList(e.getValue()));
+    }
   }
 
+  /**
+   * Returns when the given event starts, or 0 if it has no time.
+   */
+  private static double startOf(IScheduledEvent event) {
+    List<ITimeIntervalMarker> markers = event.getTime().getIntervalMarkers();
+    return markers.isEmpty() ? 0 : markers.get(0).getTime();
+  }
 }
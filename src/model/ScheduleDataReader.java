@@ -90,7 +90,8 @@ public class ScheduleDataReader implements IScheduleDataReader {
     for (int i = fromDay; i <= toDay; i++) {
       schedulingWindows = schedulingWindows.union(schedulingWindow.addDays(i));
     }
-    //read in person data (unavailabilities)
+    //read in person data (unavailabilities), giving each person the next dense id
+    int nextPersonId = 0;
     while(personReader.hasNextLine()) {
       String curLine = personReader.nextLine();
       String[] components = curLine.split("; |;");
@@ -101,8 +102,10 @@ public class ScheduleDataReader implements IScheduleDataReader {
         String curComponent = components[i];
         totalUnavailability = totalUnavailability.union(weekdayToTimeSet(curComponent));
       }
-      personMap.put(name, new Person(name, this.schedulingWindows.subtract(totalUnavailability)));
-      System.out.println("Recorded: " + name + " : " + personMap.get(name).getCurrentAvailability().toString());
+      personMap.put(name, new Person(name, this.schedulingWindows.subtract(totalUnavailability), nextPersonId));
+      nextPersonId++;
+      SchedulerLog.info(() -> "Recorded: " + name + " : "
+          + personMap.get(name).getCurrentAvailability().toString());
     }
     //read in conflict data (one-time unavailabilities) (Processed exactly the same as person data)
     while(conflictReader.hasNextLine()) {
@@ -130,7 +133,7 @@ public class ScheduleDataReader implements IScheduleDataReader {
         members.add(personMap.get(memberNames[i]));
       }
       this.groupMap.put(name, new Group(name, members));
-      System.out.println("Recorded: " + groupMap.get(name).toString());
+      SchedulerLog.info(() -> "Recorded: " + groupMap.get(name).toString());
     }
     //read in location data
     while (locationReader.hasNextLine()) {
@@ -212,17 +215,17 @@ public class ScheduleDataReader implements IScheduleDataReader {
    */
   private double hmToTime(String hmTime) {
     String[] components = hmTime.split(":");
-    double hours = Double.parseDouble(components[0]);
-    double minutes = Double.parseDouble(components[1].substring(0, 2));
-    double timeSetTime = hours + (minutes / 60.0);
+    int hours = Integer.parseInt(components[0].trim());
+    int minutes = Integer.parseInt(components[1].substring(0, 2));
+    int ticks = hours * TimeTicks.TICKS_PER_HOUR + minutes;
     String ampm = "pm";
     if (components[1].length() > 2) { //if there's an am/pm component
       ampm = components[1].substring(2, components[1].length());
     }
     if (ampm.equals("pm") || !ampm.equals("am")) {
-      timeSetTime += 12.0;
+      ticks += 12 * TimeTicks.TICKS_PER_HOUR;
     }
-    return timeSetTime;
+    return TimeTicks.toHours(ticks);
   }
 
   private void initShiftMap() {
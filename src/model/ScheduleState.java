@@ -0,0 +1,523 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable snapshot of a schedule being built: which events have been placed where, the
+ * availability every person and location has left, and the option space of every event still
+ * to schedule. Placing an event gives a new ScheduleState and leaves this one as it was, so
+ * searches can branch from any state, go back to an earlier one to undo, and look at many
+ * states at once from different threads, without ever touching the Person and Location
+ * objects themselves. Once a search has picked a final state, replay() applies its
+ * placements to those objects.
+ * People, locations and events are numbered once, when the first state is made, and their
+ * availabilities are kept in PersistentArrays, so placing an event only copies what it
+ * changes: its members, its location, and the events it interferes with. The number of
+ * options of every event still to schedule is kept the same way, so picking the next event
+ * never has to recount the events a placement didn't touch.
+ */
+final class ScheduleState {
+
+  private final Index index;
+  private final PersistentArray<ITimeSet> personAvailabilities;
+  private final PersistentArray<ITimeSet> locationUnavailabilities;
+  private final PersistentArray<ITimeSet> optionSpaces; //null for events already placed
+  private final PersistentArray<Integer> optionCounts; //the options in each option space, null where it is
+  private final int totalOptions;
+  private final int eventsWithZero;
+  private final PersistentArray<ITimeSet> times; //null for events not placed yet
+  private final Placement last; //the most recent placement, which links back to the ones before it
+  private final int placed;
+  private final LeftOut lastLeftOut; //the most recent event left out, which links back to the ones before it
+  private final int leftOut;
+
+  /**
+   * Constructs the ScheduleState before any of the given events have been placed, taking the
+   * availabilities of their people and locations as they are now.
+   * @param toSchedule the events to schedule
+   * @param chunkSize the atomic smallest unit that scheduled times are made up of
+   */
+  ScheduleState(List<IUnscheduledEvent> toSchedule, double chunkSize) {
+    this.index = new Index(toSchedule, chunkSize);
+    List<ITimeSet> persons = new ArrayList<ITimeSet>();
+    for (IPerson p : this.index.persons) {
+      persons.add(p.getCurrentAvailability());
+    }
+    List<ITimeSet> locations = new ArrayList<ITimeSet>();
+    for (ILocation l : this.index.locations) {
+      locations.add(l.getUnavailability());
+    }
+    this.personAvailabilities = new PersistentArray<ITimeSet>(persons);
+    this.locationUnavailabilities = new PersistentArray<ITimeSet>(locations);
+    this.last = null;
+    this.placed = 0;
+    this.lastLeftOut = null;
+    this.leftOut = 0;
+    List<ITimeSet> spaces = new ArrayList<ITimeSet>();
+    List<Integer> counts = new ArrayList<Integer>();
+    List<ITimeSet> noTimes = new ArrayList<ITimeSet>();
+    int total = 0;
+    int zero = 0;
+    for (IUnscheduledEvent e : this.index.events) {
+      ITimeSet space = this.optionSpaceOf(e);
+      int count = this.countOptions(e, space);
+      spaces.add(space);
+      counts.add(count);
+      noTimes.add(null);
+      total += count;
+      if (count == 0) {
+        zero++;
+      }
+    }
+    this.optionSpaces = new PersistentArray<ITimeSet>(spaces);
+    this.optionCounts = new PersistentArray<Integer>(counts);
+    this.totalOptions = total;
+    this.eventsWithZero = zero;
+    this.times = new PersistentArray<ITimeSet>(noTimes);
+  }
+
+  private ScheduleState(Index index, PersistentArray<ITimeSet> personAvailabilities,
+      PersistentArray<ITimeSet> locationUnavailabilities, PersistentArray<ITimeSet> optionSpaces,
+      PersistentArray<Integer> optionCounts, int totalOptions, int eventsWithZero,
+      PersistentArray<ITimeSet> times, Placement last, int placed, LeftOut lastLeftOut, int leftOut) {
+    this.index = index;
+    this.personAvailabilities = personAvailabilities;
+    this.locationUnavailabilities = locationUnavailabilities;
+    this.optionSpaces = optionSpaces;
+    this.optionCounts = optionCounts;
+    this.totalOptions = totalOptions;
+    this.eventsWithZero = eventsWithZero;
+    this.times = times;
+    this.last = last;
+    this.placed = placed;
+    this.lastLeftOut = lastLeftOut;
+    this.leftOut = leftOut;
+  }
+
+  /**
+   * Returns the times the given event could be held at in this state: when every member
+   * of its group is available and its location isn't in use.
+   * @param event the event whose availability to return
+   * @return the availability of the given event in this state
+   */
+  ITimeSet availabilityOf(IUnscheduledEvent event) {
+    List<ITimeSet> memberAvailabilities = new ArrayList<ITimeSet>();
+    for (IPerson p : event.getGroup().getMembers()) {
+      memberAvailabilities.add(this.personAvailabilities.get(this.index.personIndices.get(p)));
+    }
+    return availabilityOf(memberAvailabilities,
+        this.locationUnavailabilities.get(this.index.locationIndices.get(event.getLocation())));
+  }
+
+  /**
+   * Returns the current availability of the given person in this state.
+   * @param person the person whose availability to return, who must be in one of the events' groups
+   * @return the availability of the given person in this state
+   */
+  ITimeSet availabilityOf(IPerson person) {
+    Integer i = this.index.personIndices.get(person);
+    if (i == null) {
+      throw new IllegalArgumentException("This person is not in any of the events: " + person.getName());
+    }
+    return this.personAvailabilities.get(i);
+  }
+
+  /**
+   * Returns an iterator over the options of the given event in this state, earliest first.
+   * @param event the event whose options to iterate over
+   * @return an iterator over the options of the given event in this state
+   */
+  Iterator<ITimeSet> iterateOptions(IUnscheduledEvent event) {
+    return this.availabilityOf(event).iterateTimesOfDuration(event.getDuration(), this.index.chunkSize);
+  }
+
+  /**
+   * Returns the events still to schedule, mapped to their option spaces in this state.
+   * (runs in O(n) time)
+   * @return the option spaces of the events still to schedule
+   */
+  Map<IUnscheduledEvent, ITimeSet> optionSpaces() {
+    Map<IUnscheduledEvent, ITimeSet> ret = new HashMap<IUnscheduledEvent, ITimeSet>();
+    for (int i = 0; i < this.index.events.size(); i++) {
+      ITimeSet space = this.optionSpaces.get(i);
+      if (space != null) {
+        ret.put(this.index.events.get(i), space);
+      }
+    }
+    return ret;
+  }
+
+  /**
+   * Returns the options of every event still to schedule in this state, backed by the counts
+   * this state keeps rather than counted afresh.
+   * (runs in O(1) time)
+   * @return the options of every event still to schedule in this state
+   */
+  OptionBaseline baseline() {
+    return new OptionBaseline(this::optionSpaceOrNull, this::optionCountOrNegative, this.totalOptions,
+        this.eventsWithZero, this.index.chunkSize);
+  }
+
+  /**
+   * Returns whether or not every event has been placed.
+   * @return whether or not there are no events left to schedule
+   */
+  boolean isComplete() {
+    return this.placed == this.index.events.size();
+  }
+
+  /**
+   * Returns the number of events neither placed nor left out yet.
+   * @return the number of events still to schedule
+   */
+  int remaining() {
+    return this.index.events.size() - this.placed - this.leftOut;
+  }
+
+  /**
+   * Returns the number of events placed so far.
+   * @return the number of events placed so far
+   */
+  int placed() {
+    return this.placed;
+  }
+
+  /**
+   * Returns the chunkSize this state counts options with.
+   * @return the chunkSize this state counts options with
+   */
+  double chunkSize() {
+    return this.index.chunkSize;
+  }
+
+  /**
+   * Returns the graph of which events interfere with which, shared by every state made from
+   * the same first state.
+   * @return the graph of which events interfere with which
+   */
+  ConflictGraph conflicts() {
+    return this.index.conflicts;
+  }
+
+  /**
+   * Returns the event to place next in this state, picked the same way Scheduler's queue
+   * picks it: highest priority, then fewest options, then the tie breaks of EventQueue.
+   * @return the event to place next, or null if every event has been placed
+   */
+  IUnscheduledEvent nextEvent() {
+    return this.nextEvent(null);
+  }
+
+  /**
+   * Returns the event to place next in this state, picked the same way Scheduler's queue
+   * picks it, except that events tied all the way down go by the given order instead of
+   * the order they were given in.
+   * @param order where each event goes among events it ties with, by its index in conflicts(),
+   *              or null to keep the order they were given in
+   * @return the event to place next, or null if every event has been placed
+   */
+  IUnscheduledEvent nextEvent(int[] order) {
+    IUnscheduledEvent ret = null;
+    int retOptions = -1;
+    int retOrder = -1;
+    for (int i = 0; i < this.index.events.size(); i++) {
+      Integer options = this.optionCounts.get(i);
+      if (options != null) {
+        IUnscheduledEvent e = this.index.events.get(i);
+        int curOrder = order == null ? i : order[i];
+        if (ret == null || EventQueue.compare(e, options, curOrder, ret, retOptions, retOrder) < 0) {
+          ret = e;
+          retOptions = options;
+          retOrder = curOrder;
+        }
+      }
+    }
+    return ret;
+  }
+
+  /**
+   * Returns the time the given event was placed at in this state.
+   * @param event the event whose time to return
+   * @return the time the given event was placed at, or null if it hasn't been placed
+   */
+  ITimeSet timeOf(IUnscheduledEvent event) {
+    int i = this.index.conflicts.indexOf(event);
+    if (i < 0) {
+      throw new IllegalArgumentException("This event is not one of the events to schedule: " + event.getName());
+    }
+    return this.times.get(i);
+  }
+
+  /**
+   * Returns the cost of the events placed in this state under the given objective, where each
+   * event could be held anywhere its people and location are free of the other placed events.
+   * (runs in O(n * d) time, where d is the number of events an event interferes with)
+   * @param objective the objective to score this state by
+   * @return the sum of the costs of every placed event
+   */
+  double costUnder(IScheduleObjective objective) {
+    double ret = 0;
+    for (int i = 0; i < this.index.events.size(); i++) {
+      ITimeSet time = this.times.get(i);
+      if (time != null) {
+        IUnscheduledEvent e = this.index.events.get(i);
+        ITimeSet availability = this.index.baseAvailabilities.get(i);
+        for (IUnscheduledEvent other : this.index.conflicts.neighboursOf(e)) {
+          ITimeSet otherTime = this.times.get(this.index.conflicts.indexOf(other));
+          if (otherTime != null) {
+            availability = availability.subtract(otherTime);
+          }
+        }
+        ret += objective.costOf(e, time, availability, this.index.chunkSize);
+      }
+    }
+    return ret;
+  }
+
+  /**
+   * Returns the state after placing the given event at the given time, leaving this one as it was.
+   * Only the events that share a location or members with the placed event can have their option
+   * spaces change, so only those get recomputed and recounted.
+   * @param event the event to place, which must still be to schedule
+   * @param time the time to place it at
+   * @return the state with the given event placed at the given time
+   */
+  ScheduleState place(IUnscheduledEvent event, ITimeSet time) {
+    int eventIndex = this.index.conflicts.indexOf(event);
+    if (eventIndex < 0 || this.optionSpaces.get(eventIndex) == null) {
+      throw new IllegalArgumentException("This event is not still to schedule: " + event.getName());
+    }
+    PersistentArray<ITimeSet> newPersons = this.personAvailabilities;
+    for (IPerson p : event.getGroup().getMembers()) {
+      int i = this.index.personIndices.get(p);
+      newPersons = newPersons.set(i, newPersons.get(i).subtract(time));
+    }
+    int locationIndex = this.index.locationIndices.get(event.getLocation());
+    PersistentArray<ITimeSet> newLocations = this.locationUnavailabilities.set(locationIndex,
+        this.locationUnavailabilities.get(locationIndex).union(time));
+    PersistentArray<ITimeSet> newTimes = this.times.set(eventIndex, time);
+    int removed = this.optionCounts.get(eventIndex);
+    ScheduleState ret = new ScheduleState(this.index, newPersons, newLocations, this.optionSpaces.set(eventIndex, null),
+        this.optionCounts.set(eventIndex, null), this.totalOptions - removed,
+        this.eventsWithZero - (removed == 0 ? 1 : 0), newTimes, new Placement(event, time, this.last),
+        this.placed + 1, this.lastLeftOut, this.leftOut);
+    //the new state's option spaces can only be filled in once its availabilities are known
+    PersistentArray<ITimeSet> newOptionSpaces = ret.optionSpaces;
+    PersistentArray<Integer> newOptionCounts = ret.optionCounts;
+    int newTotal = ret.totalOptions;
+    int newZero = ret.eventsWithZero;
+    for (IUnscheduledEvent e : this.index.conflicts.neighboursOf(event)) {
+      int i = this.index.conflicts.indexOf(e);
+      Integer oldCount = newOptionCounts.get(i);
+      if (oldCount != null) {
+        ITimeSet space = ret.optionSpaceOf(e);
+        int newCount = ret.countOptions(e, space);
+        newOptionSpaces = newOptionSpaces.set(i, space);
+        newOptionCounts = newOptionCounts.set(i, newCount);
+        newTotal += newCount - oldCount;
+        newZero += (newCount == 0 ? 1 : 0) - (oldCount == 0 ? 1 : 0);
+      }
+    }
+    return new ScheduleState(this.index, newPersons, newLocations, newOptionSpaces, newOptionCounts, newTotal, newZero,
+        newTimes, ret.last, ret.placed, this.lastLeftOut, this.leftOut);
+  }
+
+  /**
+   * Returns the state after leaving the given event out of the schedule, leaving this one as it was.
+   * Works out who or what is blocking the event from the availabilities in this state.
+   * @param event the event to leave out, which must still be to schedule
+   * @return the state with the given event left out
+   */
+  ScheduleState leaveOut(IUnscheduledEvent event) {
+    int eventIndex = this.index.conflicts.indexOf(event);
+    if (eventIndex < 0 || this.optionSpaces.get(eventIndex) == null) {
+      throw new IllegalArgumentException("This event is not still to schedule: " + event.getName());
+    }
+    Map<IPerson, ITimeSet> memberAvailabilities = new LinkedHashMap<IPerson, ITimeSet>();
+    for (IPerson p : event.getGroup().getMembers()) {
+      memberAvailabilities.put(p, this.personAvailabilities.get(this.index.personIndices.get(p)));
+    }
+    UnplacedEvent unplaced = UnplacedEvent.diagnose(event, memberAvailabilities,
+        this.locationUnavailabilities.get(this.index.locationIndices.get(event.getLocation())), this.index.chunkSize);
+    int removed = this.optionCounts.get(eventIndex);
+    return new ScheduleState(this.index, this.personAvailabilities, this.locationUnavailabilities,
+        this.optionSpaces.set(eventIndex, null), this.optionCounts.set(eventIndex, null), this.totalOptions - removed,
+        this.eventsWithZero - (removed == 0 ? 1 : 0), this.times, this.last, this.placed,
+        new LeftOut(unplaced, this.lastLeftOut), this.leftOut + 1);
+  }
+
+  /**
+   * Returns the events not placed in this state: the ones left out, in the order they were
+   * left out, and then the ones still to schedule.
+   * @return the events not placed in this state, with why
+   */
+  List<UnplacedEvent> unplaced() {
+    List<UnplacedEvent> ret = new ArrayList<UnplacedEvent>();
+    for (LeftOut l = this.lastLeftOut; l != null; l = l.previous) {
+      ret.add(l.unplaced);
+    }
+    Collections.reverse(ret);
+    for (int i = 0; i < this.index.events.size(); i++) {
+      if (this.optionSpaces.get(i) != null) {
+        ret.add(UnplacedEvent.notReached(this.index.events.get(i)));
+      }
+    }
+    return ret;
+  }
+
+  /**
+   * Schedules every event placed in this state, in the order they were placed, updating the
+   * availabilities of the people and locations involved the same way Scheduler does.
+   * @return the scheduled events, in the order they were placed
+   */
+  List<IScheduledEvent> replay() {
+    List<Placement> placements = new ArrayList<Placement>();
+    for (Placement p = this.last; p != null; p = p.previous) {
+      placements.add(p);
+    }
+    Collections.reverse(placements);
+    List<IScheduledEvent> ret = new ArrayList<IScheduledEvent>();
+    for (Placement p : placements) {
+      ret.add(new ScheduledEvent(p.event, p.time));
+    }
+    return ret;
+  }
+
+  //non-public helper functions
+
+  /**
+   * Returns the times when every one of the given member availabilities is free and the given
+   * location isn't in use, or no times if there are no members.
+   */
+  private static ITimeSet availabilityOf(List<ITimeSet> memberAvailabilities, ITimeSet locationUnavailability) {
+    if (memberAvailabilities.isEmpty()) {
+      return new TimeSet();
+    }
+    return memberAvailabilities.get(0)
+        .intersect(memberAvailabilities.subList(1, memberAvailabilities.size()))
+        .subtract(locationUnavailability);
+  }
+
+  /**
+   * Returns the number of options the given event has within the given option space.
+   */
+  private int countOptions(IUnscheduledEvent event, ITimeSet space) {
+    return space.countTimesOfDuration(event.getDuration(), this.index.chunkSize);
+  }
+
+  /**
+   * Returns the option space of the given event in this state, or null if it isn't still to schedule.
+   */
+  private ITimeSet optionSpaceOrNull(IUnscheduledEvent event) {
+    int i = this.index.conflicts.indexOf(event);
+    return i < 0 ? null : this.optionSpaces.get(i);
+  }
+
+  /**
+   * Returns the number of options of the given event in this state, or -1 if it isn't still to schedule.
+   */
+  private int optionCountOrNegative(IUnscheduledEvent event) {
+    int i = this.index.conflicts.indexOf(event);
+    Integer ret = i < 0 ? null : this.optionCounts.get(i);
+    return ret == null ? -1 : ret;
+  }
+
+  /**
+   * Returns the union of every option of the given event in this state.
+   */
+  private ITimeSet optionSpaceOf(IUnscheduledEvent event) {
+    ITimeSet ret = new TimeSet();
+    Iterator<ITimeSet> options = this.iterateOptions(event);
+    while (options.hasNext()) {
+      ret = ret.union(options.next());
+    }
+    return ret;
+  }
+
+  /**
+   * The numbering of the people, locations and events in a schedule, which never changes,
+   * so every state made from the same first state shares it.
+   */
+  private static final class Index {
+
+    private final List<IPerson> persons;
+    private final Map<IPerson, Integer> personIndices;
+    private final List<ILocation> locations;
+    private final Map<ILocation, Integer> locationIndices;
+    private final List<IUnscheduledEvent> events; //in the order of the conflict graph's indices
+    //the availability of each event before anything was placed, which cannot be modified
+    private final List<ITimeSet> baseAvailabilities;
+    private final ConflictGraph conflicts;
+    private final double chunkSize;
+
+    Index(List<IUnscheduledEvent> toSchedule, double chunkSize) {
+      this.persons = new ArrayList<IPerson>();
+      this.personIndices = new HashMap<IPerson, Integer>();
+      this.locations = new ArrayList<ILocation>();
+      this.locationIndices = new HashMap<ILocation, Integer>();
+      this.events = new ArrayList<IUnscheduledEvent>();
+      this.conflicts = new ConflictGraph(toSchedule);
+      this.chunkSize = chunkSize;
+      for (IUnscheduledEvent e : toSchedule) {
+        if (this.conflicts.indexOf(e) == this.events.size()) {
+          this.events.add(e);
+        }
+        for (IPerson p : e.getGroup().getMembers()) {
+          if (!this.personIndices.containsKey(p)) {
+            this.personIndices.put(p, this.persons.size());
+            this.persons.add(p);
+          }
+        }
+        if (!this.locationIndices.containsKey(e.getLocation())) {
+          this.locationIndices.put(e.getLocation(), this.locations.size());
+          this.locations.add(e.getLocation());
+        }
+      }
+      List<ITimeSet> bases = new ArrayList<ITimeSet>();
+      for (IUnscheduledEvent e : this.events) {
+        List<ITimeSet> memberAvailabilities = new ArrayList<ITimeSet>();
+        for (IPerson p : e.getGroup().getMembers()) {
+          memberAvailabilities.add(p.getCurrentAvailability());
+        }
+        bases.add(availabilityOf(memberAvailabilities, e.getLocation().getUnavailability()));
+      }
+      this.baseAvailabilities = Collections.unmodifiableList(bases);
+    }
+  }
+
+  /**
+   * An event left out of the schedule, along with the one left out before it.
+   */
+  private static final class LeftOut {
+
+    private final UnplacedEvent unplaced;
+    private final LeftOut previous;
+
+    LeftOut(UnplacedEvent unplaced, LeftOut previous) {
+      this.unplaced = unplaced;
+      this.previous = previous;
+    }
+  }
+
+  /**
+   * An event placed at a time, along with the placement made before it.
+   */
+  private static final class Placement {
+
+    private final IUnscheduledEvent event;
+    private final ITimeSet time;
+    private final Placement previous;
+
+    Placement(IUnscheduledEvent event, ITimeSet time, Placement previous) {
+      this.event = event;
+      this.time = time;
+      this.previous = previous;
+    }
+  }
+}
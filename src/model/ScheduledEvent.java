@@ -1,5 +1,7 @@
 package model;
 
+import java.io.IOException;
+
 /**
  * Represents an already scheduled event in a schedule.
  */
@@ -54,9 +56,21 @@ public class ScheduledEvent implements IScheduledEvent {
 
   @Override
   public String toTextOutput() {
-    String ret = this.name + " - " + this.time.toTextOutput() + "@" + this.location.toString();
-    ret += "\n  " + this.group.toString();
-    return ret;
+    StringBuilder ret = new StringBuilder();
+    try {
+      this.writeTextOutput(ret);
+    } catch (IOException e) {
+      throw new IllegalStateException(e); //a StringBuilder never throws
+    }
+    return ret.toString();
+  }
+
+  @Override
+  public void writeTextOutput(Appendable out) throws IOException {
+    out.append(this.name).append(" - ");
+    this.time.writeTextOutput(out);
+    out.append("@").append(this.location.toString());
+    out.append("\n  ").append(this.group.toString());
   }
 
   @Override
@@ -1,6 +1,8 @@
 package model;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * Carries information used to inform the construction of a schedule
@@ -13,20 +15,64 @@ public class Scheduler implements IScheduler {
   //maybe I don't even need normal fields, cuz all the info is within the events passed in?
   private List<IUnscheduledEvent> toSchedule;
   private List<IScheduledEvent> scheduled;
+  private List<UnplacedEvent> unplaced;
   private double chunkSize;
+  private int parallelism;
+  private boolean degraded;
+  private ForkJoinPool pool;
 
   //maybe some bookkeeping fields here
   private Map<IUnscheduledEvent, ITimeSet> eventAvailabilities;
+  private OptionBaseline baseline; //the options of every event in eventAvailabilities, kept up to date with it
+  private ConflictGraph conflicts;
+  private EventQueue ready;
+  private IUnscheduledEvent lastScheduled;
   private IOptionMetric currentOptionMetric;
   private List<IUnscheduledEvent> freeEvents;
   //tracks which events have at least 1 option at a given time,
   //private Map<Double, List<IUnscheduledEvent>> optionDensities;
   //more bookkeeping
 
+  //the fewest options a parallel task will split in two; smaller ranges are evaluated in place
+  private static final int MIN_OPTIONS_TO_SPLIT = 8;
+
+  /**
+   * Constructs a Scheduler that evaluates options one after another, on one thread.
+   * @param chunkSize the atomic smallest unit that scheduled times are made up of
+   */
   public Scheduler(double chunkSize) {
+    this(chunkSize, 1);
+  }
+
+  /**
+   * Constructs a Scheduler that evaluates the options for each event across the given number
+   * of threads. The produced schedule is exactly the same as with one thread: ties between
+   * equally good options always go to the earliest one.
+   * @param chunkSize the atomic smallest unit that scheduled times are made up of
+   * @param parallelism the number of threads to evaluate options on (1 means no parallelism)
+   */
+  public Scheduler(double chunkSize, int parallelism) {
+    this(chunkSize, parallelism, false);
+  }
+
+  /**
+   * Constructs a Scheduler that evaluates the options for each event across the given number
+   * of threads, and that, if degraded, carries on past events with nowhere to go instead of
+   * giving up. Such events are left out of the schedule, and listed in its getUnplaced() along
+   * with the people or location blocking them.
+   * @param chunkSize the atomic smallest unit that scheduled times are made up of
+   * @param parallelism the number of threads to evaluate options on (1 means no parallelism)
+   * @param degraded whether to leave out events with nowhere to go, instead of throwing
+   */
+  public Scheduler(double chunkSize, int parallelism, boolean degraded) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("A Scheduler needs at least one thread to run on.");
+    }
     this.toSchedule = new ArrayList<IUnscheduledEvent>();
     this.freeEvents = new ArrayList<IUnscheduledEvent>();
     this.chunkSize = chunkSize;
+    this.parallelism = parallelism;
+    this.degraded = degraded;
     //optionDensities = new HashMap<Double, List<IUnscheduledEvent>>();
     //setup optionDensities with empty lists at the start times of all chunks
     /*for (double k = 0.0; k < 168.0; k += this.chunkSize) {
@@ -41,9 +87,11 @@ public class Scheduler implements IScheduler {
     }
     this.toSchedule = toSchedule;
     //setup
-    System.out.println("//-----[Setup");
+    SchedulerLog.debug(() -> "//-----[Setup");
     this.scheduled = new ArrayList<IScheduledEvent>();
-    updateEventAvailabilities();
+    this.unplaced = new ArrayList<UnplacedEvent>();
+    this.conflicts = new ConflictGraph(toSchedule);
+    initEventAvailabilities();
     //updateOptionDensities();
     //updateFreeEvents();
     //setup for optionDensities: //TODO confirm this works, test
@@ -55,19 +103,31 @@ public class Scheduler implements IScheduler {
         optionDensities.get(chunkStart).add(e);
       }
     }*/
-    //we need a value for optionMetric, so set it as if we had just
-    //scheduled an event for an empty TimeSet. This way it will count
-    //every event's initial options without actually subtracting from them
-    this.currentOptionMetric = new UnscheduledEvent().consider(
-        new TimeSet(),
-        eventAvailabilities,
-        this.chunkSize);
-    System.out.println("//-----Setup]");
+    //count every event's initial options once, to order them in the queue; from here on
+    //only the counts a step changes get recounted
+    this.baseline = new OptionBaseline(this.eventAvailabilities, this.chunkSize);
+    this.currentOptionMetric = null;
+    this.ready = new EventQueue();
+    for (IUnscheduledEvent e : this.toSchedule) {
+      this.ready.add(e, this.baseline.optionsOf(e));
+    }
+    this.lastScheduled = null;
+    SchedulerLog.debug(() -> "//-----Setup]");
     //loop through n times, scheduling n events, handling bookkeeping
-    while (this.toSchedule.size() > 0) {
-      scheduleNext();
+    if (this.parallelism > 1) {
+      this.pool = new ForkJoinPool(this.parallelism);
+    }
+    try {
+      while (!this.ready.isEmpty()) {
+        scheduleNext();
+      }
+    } finally {
+      if (this.pool != null) {
+        this.pool.shutdown();
+        this.pool = null;
+      }
     }
-    return new Schedule(scheduled);
+    return new Schedule(scheduled, unplaced);
   }
 
   /**
@@ -75,32 +135,19 @@ public class Scheduler implements IScheduler {
    * to the list of scheduled events.
    */
   private void scheduleNext() {
-    if (this.toSchedule.size() > 0) { //make sure there are events to schedule
+    if (!this.ready.isEmpty()) { //make sure there are events to schedule
       IUnscheduledEvent next = getNext();
-      List<ITimeSet> allOptions = next.getOptions(this.chunkSize);
-      IOptionMetric bestSoFar = null;
-      //find the best option
-      System.out.println("allOptions for " + next.getName() + ": " + allOptions.toString());
-      for (ITimeSet possible : allOptions) {
-        System.out.println("Now counting options for the possible " + possible.toString()
-            + " for event: " + next.getName());
-        IOptionMetric possibleMetric = next.consider(possible, eventAvailabilities, this.chunkSize);
-        //if possibleMetric is better than bestSoFar, its the new best
-        if (((Comparable<IOptionMetric>)possibleMetric).compareTo(bestSoFar) > 0) {
-          //debugging ---------------
-          if (bestSoFar == null) {
-            System.out.println("We're replacing null (bestSoFar) with a "
-                + possibleMetric.totalOptions() + "-option.");
-          } else {
-            System.out.println("We're replacing a " + bestSoFar.totalOptions()
-                + "-option with a " + possibleMetric.totalOptions() + "-option.");
-          }
-          //debugging ----------------
-          bestSoFar = possibleMetric;
-        }
+      //everyone's options are already counted, so each option only has to recount the events it affects
+      IOptionMetric bestSoFar;
+      if (this.pool != null) {
+        bestSoFar = findBestOptionInParallel(next, this.baseline);
+      } else {
+        bestSoFar = findBestOption(next, this.baseline);
       }
       if (bestSoFar != null) {
         scheduleEvent(next, bestSoFar);
+      } else if (this.degraded) {
+        leaveOut(next);
       } else {
         //TODO eventually handle this instead of just throwing exception
         throw new IllegalStateException("Could not find any places to schedule this: " + next.toString());
@@ -112,18 +159,92 @@ public class Scheduler implements IScheduler {
   }
 
   /**
-   * Helper that updates the map providing constant time access to the availabilities
-   * of events. Gets called whenever those availabilities change, aka, whenever we
-   * schedule a new event. (runs in O(n) time)
+   * Returns the OptionMetric of the best option for scheduling the given event, trying
+   * its options one at a time, or null if it has no options.
+   * @param next the event to find the best option for
+   * @param baseline the options every event still to schedule has right now
+   * @return the OptionMetric of the best option for the given event
+   */
+  private IOptionMetric findBestOption(IUnscheduledEvent next, OptionBaseline baseline) {
+    Iterator<ITimeSet> allOptions = next.iterateOptions(this.chunkSize);
+    IOptionMetric bestSoFar = null;
+    //no option can leave the other events with more options than they have right now,
+    //so as soon as one does we know it's the best and can stop looking
+    int mostOptionsPossible = baseline.totalOptions() - baseline.optionsOf(next);
+    boolean zeroUnavoidable
+        = baseline.eventsWithZero() - (baseline.optionsOf(next) == 0 ? 1 : 0) > 0;
+    List<IUnscheduledEvent> affected = this.conflicts.neighboursOf(next);
+    //find the best option
+    while (allOptions.hasNext()) {
+      ITimeSet possible = allOptions.next();
+      SchedulerLog.trace(() -> "Now counting options for the possible " + possible.toString()
+          + " for event: " + next.getName());
+      IOptionMetric possibleMetric = next.consider(possible, baseline, affected);
+      //if possibleMetric is better than bestSoFar, its the new best
+      if (possibleMetric.compareTo(bestSoFar) > 0) {
+        final IOptionMetric replaced = bestSoFar;
+        SchedulerLog.trace(() -> "We're replacing "
+            + (replaced == null ? "null (bestSoFar)" : "a " + replaced.totalOptions() + "-option")
+            + " with a " + possibleMetric.totalOptions() + "-option.");
+        bestSoFar = possibleMetric;
+      }
+      //if every option leaves some event with zero options they're all equally bad,
+      //otherwise an option that takes no options away from anyone can't be beaten
+      if (zeroUnavoidable
+          || (!bestSoFar.hasZero() && bestSoFar.totalOptions() == mostOptionsPossible)) {
+        break;
+      }
+    }
+    return bestSoFar;
+  }
+
+  /**
+   * Returns the OptionMetric of the best option for scheduling the given event, evaluating
+   * its options in parallel, or null if it has no options. Gives the same result as
+   * findBestOption, since ties always go to the earliest option.
+   * @param next the event to find the best option for
+   * @param baseline the options every event still to schedule has right now
+   * @return the OptionMetric of the best option for the given event
    */
-  private void updateEventAvailabilities() {
-    //TODO could do optimization, since i can identify some events whose availabilities def wont change
+  private IOptionMetric findBestOptionInParallel(IUnscheduledEvent next, OptionBaseline baseline) {
+    List<ITimeSet> allOptions = next.getOptions(this.chunkSize);
+    if (allOptions.isEmpty()) {
+      return null;
+    }
+    return this.pool.invoke(new OptionEvaluation(
+        next, allOptions, baseline, this.conflicts.neighboursOf(next), 0, allOptions.size()));
+  }
+
+  /**
+   * Helper that sets up the map providing constant time access to the availabilities
+   * of events, computing the availability of every event still to schedule. (runs in O(n) time)
+   */
+  private void initEventAvailabilities() {
     this.eventAvailabilities = new HashMap<IUnscheduledEvent, ITimeSet>();
     for (IUnscheduledEvent e : this.toSchedule) {
       this.eventAvailabilities.put(e, e.getOptionSpace(this.chunkSize));
     }
   }
 
+  /**
+   * Helper that updates the map providing constant time access to the availabilities
+   * of events, and the baseline counted from it, after the given event has been scheduled.
+   * Only the events that share a location or members with it can have had their
+   * availabilities change, so only those get recomputed and recounted.
+   * (runs in O(d) time, where d is the number of such events)
+   * @param scheduledEvent the event that was just scheduled
+   */
+  private void updateEventAvailabilities(IUnscheduledEvent scheduledEvent) {
+    this.eventAvailabilities.remove(scheduledEvent);
+    this.baseline.remove(scheduledEvent);
+    for (IUnscheduledEvent e : this.conflicts.neighboursOf(scheduledEvent)) {
+      if (this.eventAvailabilities.containsKey(e)) {
+        this.eventAvailabilities.put(e, e.getOptionSpace(this.chunkSize));
+        this.baseline.recount(e);
+      }
+    }
+  }
+
   //TODO TEST ALL OF THIS ALSO WRITE JAVADOC
   /*private void updateOptionDensities(/*IUnscheduledEvent event, IOptionMetric option) {
     //reset optionDensities
@@ -181,30 +302,18 @@ public class Scheduler implements IScheduler {
   }*/
 
   /**
-   * Returns the next event that should be scheduled. Does this in O(n) time
-   * by looping through toSchedule and finding the min with an EventPriorityComparator
+   * Returns the next event that should be scheduled, removing it from the queue of
+   * events to schedule. Does this in O(log n) time.
    * @return the next event that should be scheduled
    */
-  private IUnscheduledEvent getNext() { //TODO try and use a priorityQueue
+  private IUnscheduledEvent getNext() {
     //if there are 'free' events, use them
     if (!freeEvents.isEmpty()) {
-      return freeEvents.remove(0);
+      IUnscheduledEvent free = freeEvents.remove(0);
+      this.ready.remove(free);
+      return free;
     }
-    EventPriorityComparator comp = new EventPriorityComparator();
-    IUnscheduledEvent highestPriority = null;
-    for (IUnscheduledEvent e : toSchedule) {
-      if (highestPriority == null) {
-        highestPriority = e;
-      } else {
-        if (comp.compare(e, highestPriority) < 0) {
-          //this e should be scheduled before highestPriority,
-          //so make it the new highestPriority
-          highestPriority = e;
-        }
-      }
-    }
-    toSchedule.remove(highestPriority);
-    return highestPriority;
+    return this.ready.poll();
   }
 
   /**
@@ -215,50 +324,109 @@ public class Scheduler implements IScheduler {
    */
   private void scheduleEvent(IUnscheduledEvent event, IOptionMetric optionMetric) {
     this.scheduled.add(new ScheduledEvent(event, optionMetric.getOption()));
-    System.out.println("SCHEDULED ----- " + event.getName() + ", at " + optionMetric.getOption());
+    SchedulerLog.info(() -> "SCHEDULED ----- " + event.getName() + ", at " + optionMetric.getOption());
     this.currentOptionMetric = optionMetric;
-    updateEventAvailabilities(); //O(n) time
+    updateEventAvailabilities(event); //O(d) time
+    updateReadyQueue(event); //O(d log n) time
     //update the optionDensities array
     //updateOptionDensities(/*event, optionMetric*/); //O(n) time
     //updateFreeEvents();
   }
 
   /**
-   * Comparator class for determining which UnscheduledEvents should be scheduled first.
-   * Takes multiple factors into account, including:
-   * - whether an event is 'free' or not
-   * - user provided priority levels
-   * - number of options
-   * - duration
-   * - group size
+   * Leaves the given event, which has no options, out of the schedule, working out who or
+   * what is blocking it from the current availabilities of its members and location.
+   * Nothing else changes, since leaving it out doesn't take any options from anyone.
+   * @param event the event to leave out
    */
-  private final class EventPriorityComparator implements Comparator<IUnscheduledEvent> {
+  private void leaveOut(IUnscheduledEvent event) {
+    Map<IPerson, ITimeSet> memberAvailabilities = new LinkedHashMap<IPerson, ITimeSet>();
+    for (IPerson p : event.getGroup().getMembers()) {
+      memberAvailabilities.put(p, p.getCurrentAvailability());
+    }
+    UnplacedEvent left = UnplacedEvent.diagnose(
+        event, memberAvailabilities, event.getLocation().getUnavailability(), this.chunkSize);
+    this.unplaced.add(left);
+    this.eventAvailabilities.remove(event);
+    this.baseline.remove(event);
+    SchedulerLog.info(() -> "UNPLACED ----- " + left.toString());
+  }
 
-    @Override
-    public int compare(IUnscheduledEvent o1, IUnscheduledEvent o2) {
-      //TODO implement freeness timetable
-      //check freeness -- needs to be within Scheduler
-      if (o1.getPriority() != o2.getPriority()) {
-        return o2.getPriority() - o1.getPriority();
+  /**
+   * Updates the option counts in the queue of events to schedule, after the given event
+   * has been scheduled. An event's count can only have changed if it shares a location or
+   * members with the event just scheduled (whose placement the new counts subtract) or with
+   * the event scheduled before it (whose placement the old counts subtracted).
+   * @param scheduledEvent the event that was just scheduled
+   */
+  private void updateReadyQueue(IUnscheduledEvent scheduledEvent) {
+    for (IUnscheduledEvent e : this.conflicts.neighboursOf(scheduledEvent)) {
+      if (this.ready.contains(e)) {
+        this.ready.update(e, this.currentOptionMetric.optionsOf(e));
       }
-      //check number of options -- events with less options should be scheduled first
-      if (currentOptionMetric.optionsOf(o1) != currentOptionMetric.optionsOf(o2)) {
-        return currentOptionMetric.optionsOf(o1) - currentOptionMetric.optionsOf(o2);
+    }
+    if (this.lastScheduled != null) {
+      for (IUnscheduledEvent e : this.conflicts.neighboursOf(this.lastScheduled)) {
+        //skip the ones we just updated above
+        if (this.ready.contains(e) && !this.conflicts.interferes(scheduledEvent, e)) {
+          this.ready.update(e, this.currentOptionMetric.optionsOf(e));
+        }
       }
-      if (o1.getDuration() != o2.getDuration()) {
-        double difference = o2.getDuration() - o1.getDuration();
-        if (difference < 0) {
-          return -1;
-        } else if (difference > 0) {
-          return 1;
-        } else {
-          return 0;
+    }
+    this.lastScheduled = scheduledEvent;
+  }
+
+  /**
+   * Task that evaluates a range of options for an event, splitting the range in half
+   * and evaluating the halves in parallel when it is big enough. Evaluation only reads
+   * the baseline and the event availabilities in it, so the halves can't interfere with each other.
+   */
+  private final class OptionEvaluation extends RecursiveTask<IOptionMetric> {
+
+    private static final long serialVersionUID = 1L;
+
+    private IUnscheduledEvent event;
+    private List<ITimeSet> options;
+    private OptionBaseline baseline;
+    private List<IUnscheduledEvent> affected;
+    private int from;
+    private int to;
+
+    OptionEvaluation(IUnscheduledEvent event, List<ITimeSet> options, OptionBaseline baseline,
+        List<IUnscheduledEvent> affected, int from, int to) {
+      this.event = event;
+      this.options = options;
+      this.baseline = baseline;
+      this.affected = affected;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected IOptionMetric compute() {
+      if (this.to - this.from < MIN_OPTIONS_TO_SPLIT) {
+        IOptionMetric bestSoFar = null;
+        for (int i = this.from; i < this.to; i++) {
+          IOptionMetric possibleMetric = this.event.consider(this.options.get(i), this.baseline, this.affected);
+          if (possibleMetric.compareTo(bestSoFar) > 0) {
+            bestSoFar = possibleMetric;
+          }
         }
+        return bestSoFar;
       }
-      if (o1.getGroup().size() != o2.getGroup().size()) {
-        return o2.getGroup().size() - o1.getGroup().size();
+      int middle = (this.from + this.to) / 2;
+      OptionEvaluation earlier = new OptionEvaluation(
+          this.event, this.options, this.baseline, this.affected, this.from, middle);
+      OptionEvaluation later = new OptionEvaluation(
+          this.event, this.options, this.baseline, this.affected, middle, this.to);
+      earlier.fork();
+      IOptionMetric laterBest = later.compute();
+      IOptionMetric earlierBest = earlier.join();
+      //the earlier half wins ties, so the result is the same as going through them in order
+      if (laterBest.compareTo(earlierBest) > 0) {
+        return laterBest;
       }
-      return 0;
+      return earlierBest;
     }
   }
 }
@@ -0,0 +1,206 @@
+package model;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * The debugging output of the scheduler. Silent by default, so that nothing is printed and
+ * no messages are even built unless a level is turned on. Messages are given as Suppliers,
+ * which are only called if their level is turned on.
+ * Messages go to the console, or, once traceTo has been called, to a file, written by a
+ * background thread so the scheduler never waits on file I/O.
+ */
+public final class SchedulerLog {
+
+  /**
+   * How much debugging output to log, from none at all to every option counted.
+   */
+  public enum Level {
+    OFF, //nothing
+    INFO, //what gets read in and what gets scheduled
+    DEBUG, //every step of scheduling
+    TRACE //every option considered, and every event's options counted for it
+  }
+
+  private static volatile Level level = Level.OFF;
+  private static volatile FileTrace trace = null;
+
+  private SchedulerLog() {
+  }
+
+  /**
+   * Sets how much debugging output to log.
+   * @param newLevel the most detailed level of messages to log
+   */
+  public static void setLevel(Level newLevel) {
+    if (newLevel == null) {
+      throw new IllegalArgumentException("The log level cannot be null.");
+    }
+    level = newLevel;
+  }
+
+  /**
+   * Returns how much debugging output is being logged.
+   * @return the most detailed level of messages being logged
+   */
+  public static Level getLevel() {
+    return level;
+  }
+
+  /**
+   * Returns whether or not messages of the given level are being logged.
+   * @param messageLevel the level of the message
+   * @return whether or not messages of the given level are being logged
+   */
+  public static boolean isEnabled(Level messageLevel) {
+    return messageLevel != Level.OFF && messageLevel.compareTo(level) <= 0;
+  }
+
+  /**
+   * Logs the message given by the supplier at the INFO level.
+   * @param message supplies the message, only called if INFO messages are being logged
+   */
+  public static void info(Supplier<String> message) {
+    log(Level.INFO, message);
+  }
+
+  /**
+   * Logs the message given by the supplier at the DEBUG level.
+   * @param message supplies the message, only called if DEBUG messages are being logged
+   */
+  public static void debug(Supplier<String> message) {
+    log(Level.DEBUG, message);
+  }
+
+  /**
+   * Logs the message given by the supplier at the TRACE level.
+   * @param message supplies the message, only called if TRACE messages are being logged
+   */
+  public static void trace(Supplier<String> message) {
+    log(Level.TRACE, message);
+  }
+
+  /**
+   * Logs the message given by the supplier at the given level, if that level is being logged.
+   * @param messageLevel the level of the message
+   * @param message supplies the message, only called if the level is being logged
+   */
+  public static void log(Level messageLevel, Supplier<String> message) {
+    if (!isEnabled(messageLevel)) {
+      return;
+    }
+    FileTrace curTrace = trace;
+    if (curTrace != null) {
+      curTrace.add(message.get());
+    } else {
+      System.out.println(message.get());
+    }
+  }
+
+  /**
+   * Turns on every level of logging, and starts sending messages to the given file instead
+   * of the console. The file is written in the background; call close() to finish writing it.
+   * @param file the file to write messages to, which is overwritten
+   * @throws IOException if the file cannot be opened
+   */
+  public static synchronized void traceTo(File file) throws IOException {
+    close();
+    trace = new FileTrace(file);
+    level = Level.TRACE;
+  }
+
+  /**
+   * Finishes writing every message logged so far to the trace file, if there is one, and
+   * closes it. Messages go back to the console afterwards.
+   */
+  public static synchronized void close() {
+    FileTrace curTrace = trace;
+    if (curTrace != null) {
+      trace = null;
+      curTrace.close();
+    }
+  }
+
+  /**
+   * Writes the messages given to it to a file, on its own thread.
+   */
+  private static final class FileTrace implements Runnable {
+
+    //marks the end of the messages, since the queue can't hold null
+    private static final String END = new String("END");
+
+    private BlockingQueue<String> messages;
+    private Writer writer;
+    private Thread thread;
+    private volatile boolean failed; //whether the file couldn't be written, so messages go to the console
+
+    FileTrace(File file) throws IOException {
+      this.messages = new LinkedBlockingQueue<String>();
+      this.writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), "utf-8"));
+      this.thread = new Thread(this, "SchedulerLog-trace");
+      this.thread.setDaemon(true);
+      this.thread.start();
+    }
+
+    void add(String message) {
+      if (this.failed) {
+        System.out.println(message);
+      } else {
+        this.messages.add(message);
+      }
+    }
+
+    void close() {
+      this.messages.add(END);
+      try {
+        this.thread.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    @Override
+    public void run() {
+      try {
+        String message = this.messages.take();
+        while (message != END) {
+          this.writer.write(message);
+          this.writer.write(System.lineSeparator());
+          //only flush once we've caught up, so a busy scheduler gets big writes
+          if (this.messages.isEmpty()) {
+            this.writer.flush();
+          }
+          message = this.messages.take();
+        }
+      } catch (IOException e) {
+        System.err.println("Could not write the scheduler trace, logging to the console instead: "
+            + e.getMessage());
+        //stop queueing messages no one will write, and print the ones still waiting
+        this.failed = true;
+        if (trace == this) {
+          trace = null;
+        }
+        for (String message = this.messages.poll(); message != null; message = this.messages.poll()) {
+          if (message != END) {
+            System.out.println(message);
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        try {
+          this.writer.close();
+        } catch (IOException e) {
+          System.err.println("Could not close the scheduler trace: " + e.getMessage());
+        }
+      }
+    }
+  }
+}
@@ -6,42 +6,96 @@ import java.io.*;
  * Runs the Scheduler with the necessary files.
  */
 public class SchedulerRunner {
-  public static void main(String[] args) {
-    File personData = new File(
-        ".\\InputFiles\\personData.txt");
-    File groupData = new File(
-        ".\\InputFiles\\groupData.txt");
-    File locationData = new File(
-        ".\\InputFiles\\locationData.txt");
-    File eventData = new File(
-        ".\\InputFiles\\eventData.txt");
-    File conflictData = new File(
-        ".\\InputFiles\\conflictData.txt");
-    File windowData = new File(
-        ".\\InputFiles\\windowData.txt");
-    IScheduleDataReader reader = new ScheduleDataReader(
-        personData, groupData , locationData, eventData, conflictData, windowData,/*new TimeSet(0.0, 6.0),*/ 0, 6);
-    IScheduler scheduler = new Scheduler(0.25); //15 minute blocks
-    ISchedule produced = scheduler.schedule(reader.getEventsToSchedule());
-
-    //TODO make TextOutput not be military time.
-    //TODO make time windows customizable
-    //TODO make chunkSize customizable
-    //TODO make conflicts work
-    //TODO test decimal hour durations for events
-    //TODO automate location finding as well
-
-    //print output
-    System.out.println("\n\n-----------------FINAL SCHEDULE-----------------");
-    System.out.println(produced.toTextOutput()
-        + "-------------------------END-----------------------\n\n");
-
-    //write output to file
-    try (Writer writer = new BufferedWriter(new OutputStreamWriter(
-        new FileOutputStream("TextSchedule.txt"), "utf-8"))) {
-      writer.write(produced.toTextOutput());
-    } catch (IOException e) {
-      System.out.println(e.getMessage());
+
+  /**
+   * Runs the Scheduler on the input files, printing the schedule it produces and writing it
+   * to TextSchedule.txt.
+   * @param args optionally, the level of debugging output to log (OFF, INFO, DEBUG or TRACE),
+   *             followed by a file to write it to instead of the console
+   * @throws IOException if the given trace file cannot be opened
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length > 0) {
+      SchedulerLog.setLevel(SchedulerLog.Level.valueOf(args[0].toUpperCase()));
+    }
+    if (args.length > 1) {
+      SchedulerLog.Level level = SchedulerLog.getLevel();
+      SchedulerLog.traceTo(new File(args[1]));
+      SchedulerLog.setLevel(level);
+    }
+    try {
+      File personData = new File(
+          ".\\InputFiles\\personData.txt");
+      File groupData = new File(
+          ".\\InputFiles\\groupData.txt");
+      File locationData = new File(
+          ".\\InputFiles\\locationData.txt");
+      File eventData = new File(
+          ".\\InputFiles\\eventData.txt");
+      File conflictData = new File(
+          ".\\InputFiles\\conflictData.txt");
+      File windowData = new File(
+          ".\\InputFiles\\windowData.txt");
+      IScheduleDataReader reader = new ScheduleDataReader(
+          personData, groupData , locationData, eventData, conflictData, windowData,/*new TimeSet(0.0, 6.0),*/ 0, 6);
+      IScheduler scheduler = new Scheduler(0.25); //15 minute blocks
+      ISchedule produced = scheduler.schedule(reader.getEventsToSchedule());
+
+      //TODO make TextOutput not be military time.
+      //TODO make time windows customizable
+      //TODO make chunkSize customizable
+      //TODO make conflicts work
+      //TODO test decimal hour durations for events
+      //TODO automate location finding as well
+
+      //print output and write it to file in the same pass, without building it as a string first
+      System.out.println("\n\n-----------------FINAL SCHEDULE-----------------");
+      try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+          new FileOutputStream("TextSchedule.txt"), "utf-8"))) {
+        produced.writeTextOutput(new Tee(System.out, writer));
+      } catch (IOException e) {
+        System.out.println(e.getMessage());
+      }
+      System.out.println("-------------------------END-----------------------\n\n");
+    } finally {
+      SchedulerLog.close(); //finish writing the trace, if there is one, even if scheduling failed
+    }
+  }
+
+  //non-public helper functions
+
+  /**
+   * Writes everything appended to it to both of the given Appendables.
+   */
+  private static final class Tee implements Appendable {
+
+    private final Appendable first;
+    private final Appendable second;
+
+    Tee(Appendable first, Appendable second) {
+      this.first = first;
+      this.second = second;
+    }
+
+    @Override
+    public Appendable append(CharSequence csq) throws IOException {
+      this.first.append(csq);
+      this.second.append(csq);
+      return this;
+    }
+
+    @Override
+    public Appendable append(CharSequence csq, int start, int end) throws IOException {
+      this.first.append(csq, start, end);
+      this.second.append(csq, start, end);
+      return this;
+    }
+
+    @Override
+    public Appendable append(char c) throws IOException {
+      this.first.append(c);
+      this.second.append(c);
+      return this;
     }
   }
 }
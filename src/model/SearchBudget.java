@@ -0,0 +1,65 @@
+package model;
+
+/**
+ * Limits how much work a search may do, as a maximum number of nodes (placements tried)
+ * and a maximum amount of wall-clock time, whichever runs out first.
+ */
+class SearchBudget {
+
+  private long maxNodes;
+  private long maxNanos;
+  private long start;
+  private long nodes;
+
+  /**
+   * Constructs a SearchBudget allowing the given number of nodes and milliseconds.
+   * The clock starts when the budget is constructed.
+   * @param maxNodes the most nodes the search may visit
+   * @param maxMillis the most milliseconds the search may run for
+   */
+  SearchBudget(long maxNodes, long maxMillis) {
+    if (maxNodes < 1 || maxMillis < 1) {
+      throw new IllegalArgumentException("A search needs a budget of at least one node and one millisecond.");
+    }
+    this.maxNodes = maxNodes;
+    this.maxNanos = maxMillis * 1000000L;
+    this.start = System.nanoTime();
+    this.nodes = 0;
+  }
+
+  /**
+   * Counts one more node against this budget, returning whether or not there was budget left for it.
+   * @return false if this budget had already run out, otherwise true
+   */
+  boolean tryNode() {
+    if (this.isExhausted()) {
+      return false;
+    }
+    this.nodes++;
+    return true;
+  }
+
+  /**
+   * Returns whether or not this budget has run out, either of nodes or of time.
+   * @return whether or not this budget has run out
+   */
+  boolean isExhausted() {
+    return this.nodes >= this.maxNodes || System.nanoTime() - this.start >= this.maxNanos;
+  }
+
+  /**
+   * Returns the number of nodes counted against this budget so far.
+   * @return the number of nodes visited so far
+   */
+  long nodes() {
+    return this.nodes;
+  }
+
+  /**
+   * Returns the number of milliseconds since this budget was constructed.
+   * @return the number of milliseconds spent so far
+   */
+  long elapsedMillis() {
+    return (System.nanoTime() - this.start) / 1000000L;
+  }
+}
@@ -0,0 +1,14 @@
+package model;
+
+/**
+ * Scores a schedule by its slack: the number of times each event could be moved to without
+ * moving any other event. A schedule with more slack is easier to change when someone's
+ * availability does, so the cost of an event is the negative of its number of options.
+ */
+public class SlackObjective implements IScheduleObjective {
+
+  @Override
+  public double costOf(IUnscheduledEvent event, ITimeSet time, ITimeSet availability, double chunkSize) {
+    return -availability.countTimesOfDuration(event.getDuration(), chunkSize);
+  }
+}
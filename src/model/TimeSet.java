@@ -1,5 +1,6 @@
 package model;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.*;
 
@@ -8,11 +9,13 @@ import java.util.*;
  * denoting the beginnings and ends of different intervals.
  * Times are represented as doubles, and are measured in hours.
  * Times can range on the interval [0, 168], representing all 168
- * hours in a 7-day week.
+ * hours in a 7-day week. The intervals are stored in order in a single
+ * array of doubles, so set arithmetic is a linear merge of two arrays.
  */
 public class TimeSet implements ITimeSet {
 
-  List<ITimeIntervalMarker> intervalMarkers;
+  //the start and end times of this TimeSet's intervals, in order: start0, end0, start1, end1...
+  private double[] bounds;
 
   /**
    * Constructs a TimeSet containing a single time interval
@@ -32,9 +35,10 @@ public class TimeSet implements ITimeSet {
       throw new IllegalArgumentException(
           "Times cannot be greater than 168, the number of hours in a 7-day week.");
     }
-    intervalMarkers = new ArrayList<ITimeIntervalMarker>();
-    intervalMarkers.add(new StartMarker(start, end));
-    intervalMarkers.add(new EndMarker(start, end));
+    if (start == end) {
+      throw new IllegalArgumentException("The given times for this interval cannot be equal.");
+    }
+    this.bounds = new double[] {start, end};
   }
 
   //TODO perhaps a convenience human friendly constructor in hours and minutes etc?
@@ -43,32 +47,30 @@ public class TimeSet implements ITimeSet {
    * Constructs an empty TimeSet containing no times.
    */
   public TimeSet() {
-    intervalMarkers = new ArrayList<ITimeIntervalMarker>();
+    this.bounds = new double[0];
   }
 
   /**
-   * Constructs a TimeSet with the given interval markers.
-   * @param intervalMarkers the interval markers to construct this TimeSet with
+   * Constructs a TimeSet with the given interval bounds. (Does not copy the array.)
+   * @param bounds the sorted start and end times of the intervals to construct this TimeSet with
    */
-  private TimeSet(List<ITimeIntervalMarker> intervalMarkers) {
-    this.intervalMarkers = new ArrayList<ITimeIntervalMarker>();
-    for (ITimeIntervalMarker intervalMarker : intervalMarkers) {
-      this.intervalMarkers.add(intervalMarker);
-    }
+  private TimeSet(double[] bounds) {
+    this.bounds = bounds;
   }
 
   @Override
   public List<ITimeIntervalMarker> getIntervalMarkers() {
-    ArrayList<ITimeIntervalMarker> ret = new ArrayList<ITimeIntervalMarker>();
-    for (ITimeIntervalMarker intervalMarker : this.intervalMarkers) {
-      ret.add(intervalMarker);
+    ArrayList<ITimeIntervalMarker> ret = new ArrayList<ITimeIntervalMarker>(this.bounds.length);
+    for (int i = 0; i < this.bounds.length; i += 2) {
+      ret.add(new StartMarker(this.bounds[i], this.bounds[i + 1]));
+      ret.add(new EndMarker(this.bounds[i], this.bounds[i + 1]));
     }
     return ret;
   }
 
   @Override
   public int getWeekdayIndex() {
-    double beginTime = this.intervalMarkers.get(0).getTime();
+    double beginTime = this.bounds[0];
     int weekdayIndex = (int) Math.floor(beginTime / 24.0);
     if (weekdayIndex >= 0 && weekdayIndex <= 6) {
       return weekdayIndex;
@@ -80,237 +82,224 @@ public class TimeSet implements ITimeSet {
 
   @Override
   public ITimeSet union(ITimeSet that) {
-    //make the worklist and populate it with all interval markers in this and the given TimeSet
-    List<ITimeIntervalMarker> worklist = this.getIntervalMarkers();
-    worklist.addAll(that.getIntervalMarkers());
-    //sort the worklist
-    Collections.sort(worklist, new TimeIntervalMarkerComparator());
-    //setup
-    List<ITimeIntervalMarker> ret = new ArrayList<ITimeIntervalMarker>();
-    double opener = -1.0; //used to track starts of intervals to be added to the product TimeSet
-    double targetEnd = -1.0;
-    ITimeIntervalMarker ongoing = null;
-    //traverse
-    for (int i = 0; i < worklist.size(); i++) {
-      ITimeIntervalMarker currentMarker = worklist.get(i);
-      if (currentMarker.isStart()) {
-        //if the marker is a start
-        if (ongoing == null) {
-          //if there is no ongoing, make this the ongoing
-          ongoing = currentMarker;
-          //and set the targetEnd to the start's end time
-          targetEnd = currentMarker.getCounterpartTime();
-          //and set the current marker's time as the opener
-          opener = currentMarker.getTime();
-        } else { //if there is ALREADY an ongoing
-          //set the targetEnd to this marker's end time,
-          //IF that end time is greater than the current targetEnd
-          if (currentMarker.getCounterpartTime() > targetEnd) {
-            targetEnd = currentMarker.getCounterpartTime();
-          }
-        }
-      } else { //if the marker is an end
-        if (ongoing == null) { //this shouldn't ever happen
-          if (currentMarker.getTime() != targetEnd) {
-            throw new IllegalStateException(
-                "Something went wrong. We should never process an EndMarker before " +
-                    "before we have processed a StartMarker and made it the ongoing.");
-          }
-        } else if (currentMarker.getTime() == targetEnd) { //if this marker is the targetEnd
-          //add the proper interval to the product
-          ret.add(new StartMarker(opener, targetEnd));
-          ret.add(new EndMarker(opener, targetEnd));
-          //reset the ongoing to be null
-          ongoing = null;
+    double[] a = this.bounds;
+    double[] b = boundsOf(that);
+    double[] ret = new double[a.length + b.length];
+    int size = 0;
+    int i = 0;
+    int j = 0;
+    //walk both lists of intervals in order of their start times, merging any intervals
+    //that overlap. (Intervals that only touch at their ends are kept separate.)
+    while (i < a.length || j < b.length) {
+      double start;
+      double end;
+      if (j >= b.length || (i < a.length && a[i] <= b[j])) {
+        start = a[i];
+        end = a[i + 1];
+        i += 2;
+      } else {
+        start = b[j];
+        end = b[j + 1];
+        j += 2;
+      }
+      if (size > 0 && start < ret[size - 1]) {
+        //this interval overlaps the last one we added, so extend that one
+        if (end > ret[size - 1]) {
+          ret[size - 1] = end;
         }
-        //if the marker is an EndMarker and is NOT the targetEnd, do nothing and move on
+      } else {
+        ret[size] = start;
+        ret[size + 1] = end;
+        size += 2;
       }
     }
-    return new TimeSet(ret);
+    return new TimeSet(trim(ret, size));
   }
 
   @Override
   public ITimeSet intersect(ITimeSet that) {
-    List<ITimeSet> timeSetSingleton = new ArrayList<ITimeSet>();
-    timeSetSingleton.add(that);
-    return this.intersect(timeSetSingleton);
+    double[] a = this.bounds;
+    double[] b = boundsOf(that);
+    double[] ret = new double[a.length + b.length];
+    int size = 0;
+    int i = 0;
+    int j = 0;
+    while (i < a.length && j < b.length) {
+      double start = Math.max(a[i], b[j]);
+      double end = Math.min(a[i + 1], b[j + 1]);
+      if (start < end) {
+        ret[size] = start;
+        ret[size + 1] = end;
+        size += 2;
+      }
+      //move past whichever interval ends first, since it can't overlap anything else
+      if (a[i + 1] == end) {
+        i += 2;
+      }
+      if (b[j + 1] == end) {
+        j += 2;
+      }
+    }
+    return new TimeSet(trim(ret, size));
   }
 
   @Override
   public ITimeSet intersect(List<ITimeSet> timeSets) {
-    //make the worklist and populate it with all interval markers in this and the given TimeSet
-    List<ITimeIntervalMarker> worklist = this.getIntervalMarkers();
-    for (ITimeSet t : timeSets) {
-      worklist.addAll(t.getIntervalMarkers());
-    }
-    //sort the worklist
-    Collections.sort(worklist, new TimeIntervalMarkerComparator());
-    //setup
-    List<ITimeIntervalMarker> ret = new ArrayList<ITimeIntervalMarker>();
-    double opener = -1.0; //used to track starts of intervals to be added to the product TimeSet
-    //tracks which intervals are ongoing:
-    ITimeIntervalMarker[] ongoing = new ITimeIntervalMarker[timeSets.size() + 1];
-    for (int i = 0; i < ongoing.length; i++) {
-      ongoing[i] = null;
+    //gather the bounds of every TimeSet in the intersection, this one first
+    double[][] all = new double[timeSets.size() + 1][];
+    all[0] = this.bounds;
+    int maxSize = this.bounds.length;
+    for (int k = 0; k < timeSets.size(); k++) {
+      all[k + 1] = boundsOf(timeSets.get(k));
+      maxSize += all[k + 1].length;
     }
-    //traverse
-    for (int i = 0; i < worklist.size(); i++) {
-      ITimeIntervalMarker currentMarker = worklist.get(i);
-      if (currentMarker.isStart()) { //if current marker is a start
-        for (int o = 0; o < ongoing.length; o++) {
-          if (ongoing[o] == null) {
-            ongoing[o] = currentMarker;
-            if (o == ongoing.length - 1) {
-              //if this is the nth ongoing set where n is the number of sets in the intersection,
-              //open the interval to add to the product, at this marker's position
-              opener = currentMarker.getTime();
-            }
-            o = ongoing.length;
-          }
-        }
-
-      } else { //if the current marker is an end
-        if (ongoing[0] == null) { //this should never happen
-          throw new IllegalStateException(
-              "Something went wrong. We should never process an EndMarker before " +
-                  "before we have processed a StartMarker and made it the ongoing1.");
-        }
-        if (ongoing[ongoing.length - 1] != null) {
-          //if there are enough intervals ongoing for an intersection to be open,
-          //close that open intersection at this mark and add it to the product
-          ret.add(new StartMarker(opener, currentMarker.getTime()));
-          ret.add(new EndMarker(opener, currentMarker.getTime()));
-          opener = -1.0;
+    double[] ret = new double[maxSize];
+    int size = 0;
+    //cursors[k] is the index of the current interval of the k'th TimeSet
+    int[] cursors = new int[all.length];
+    while (true) {
+      double start = 0.0;
+      double end = 168.0;
+      for (int k = 0; k < all.length; k++) {
+        if (cursors[k] >= all[k].length) {
+          //one of the TimeSets has run out of intervals, so nothing else can be in all of them
+          return new TimeSet(trim(ret, size));
         }
-        //check for which interval is now not ongoing because of this EndMarker
-        for (int o = 0; o < ongoing.length; o++) {
-          ITimeIntervalMarker intervalMarker = ongoing[o];
-          //if the current EndMarker is the end of the o'th ongoing interval:
-          if (intervalMarker.getCounterpartTime() == currentMarker.getTime()) {
-            //shift everything past it in the list down one, overwriting it
-            for (int k = o; k < ongoing.length; k++) {
-              if (k == ongoing.length - 1) {
-                ongoing[k] = null;
-              } else {
-                ongoing[k] = ongoing[k + 1];
-              }
-            }
-            o = ongoing.length; //break out of this loop
-          }
+        start = Math.max(start, all[k][cursors[k]]);
+        end = Math.min(end, all[k][cursors[k] + 1]);
+      }
+      if (start < end) {
+        ret[size] = start;
+        ret[size + 1] = end;
+        size += 2;
+      }
+      //move past every current interval that ends first
+      for (int k = 0; k < all.length; k++) {
+        if (all[k][cursors[k] + 1] == end) {
+          cursors[k] += 2;
         }
       }
     }
-    return new TimeSet(ret);
   }
 
   @Override
   public ITimeSet complement() {
-    //make the worklist, which in this case is just a copy of this TimeSet's intervalMarkers
-    List<ITimeIntervalMarker> worklist = this.getIntervalMarkers();
-    //sort the worklist
-    Collections.sort(worklist, new TimeIntervalMarkerComparator());
-    //the list of interval markers to make the final product TimeSet out of:
-    List<ITimeIntervalMarker> ret = new ArrayList<ITimeIntervalMarker>();
+    double[] ret = new double[this.bounds.length + 2];
+    int size = 0;
     double opener = 0.0; //used to track starts of intervals to be added to the product TimeSet
-    //for every interval marker in this TimeSet's list of intervalMarkers
-    for (int i = 0; i < worklist.size(); i++) {
-      ITimeIntervalMarker currentMarker = worklist.get(i);
-      if (currentMarker.isStart()) { //if currentMarker is a StartMarker
-        if (currentMarker.getTime() > 0.0) {
-          //add the proper intervals, starting from the last opener value we recorded,
-          //and spanning to this StartMarker we just encountered
-          if (opener != currentMarker.getTime()) { //but only if they represent a non-empty interval (start and end being the same)
-            ret.add(new StartMarker(opener, currentMarker.getTime()));
-            ret.add(new EndMarker(opener, currentMarker.getTime()));
-          }
-          opener = -1.0; //ensure that if for some reason we try to add another interval before a new
-                         //opener value has been recorded, the negative time exception will be thrown
-        } else { //if this StartMarker is at the beginning of the universe, 0.0:
-          //just reset opener and don't add anything to the product
-          opener = -1.0;
-        }
-      } else { //currentMarker must be an EndMarker
-        if (currentMarker.getTime() < 168.0) {//if it's not at the very end of the universe
-          opener = currentMarker.getTime(); //we record a new opener
-        }
+    for (int i = 0; i < this.bounds.length; i += 2) {
+      //add the gap between the last interval and this one, but only if it is non-empty
+      if (this.bounds[i] > opener) {
+        ret[size] = opener;
+        ret[size + 1] = this.bounds[i];
+        size += 2;
       }
-    } //when we reach the end of the list, we add one last interval going from opener to 168 (the end of the universe)
-    if (opener >= 0.0) { //BUT only if opener has actually been assigned a value at this point
-      ret.add(new StartMarker(opener, 168.0));
-      ret.add(new EndMarker(opener, 168.0));
+      opener = this.bounds[i + 1];
+    } //when we reach the end, we add one last interval going from opener to 168 (the end of the universe)
+    if (opener < 168.0) {
+      ret[size] = opener;
+      ret[size + 1] = 168.0;
+      size += 2;
     }
-    return new TimeSet(ret);
+    return new TimeSet(trim(ret, size));
   }
 
   @Override
   public ITimeSet subtract(ITimeSet that) {
-    return this.intersect(that.complement());
+    double[] a = this.bounds;
+    double[] b = boundsOf(that);
+    double[] ret = new double[a.length + b.length];
+    int size = 0;
+    int j = 0;
+    for (int i = 0; i < a.length; i += 2) {
+      double opener = a[i];
+      //skip the intervals being subtracted that end before this interval starts
+      while (j < b.length && b[j + 1] <= opener) {
+        j += 2;
+      }
+      //cut out every interval being subtracted that overlaps this one
+      for (int k = j; k < b.length && b[k] < a[i + 1]; k += 2) {
+        if (b[k] > opener) {
+          ret[size] = opener;
+          ret[size + 1] = b[k];
+          size += 2;
+        }
+        opener = Math.max(opener, b[k + 1]);
+      }
+      if (opener < a[i + 1]) {
+        ret[size] = opener;
+        ret[size + 1] = a[i + 1];
+        size += 2;
+      }
+    }
+    return new TimeSet(trim(ret, size));
   }
 
   @Override
   public List<ITimeSet> allTimesOfDuration(double duration, double chunkSize) {
-    if (Math.abs(duration % chunkSize) > .01) {
-      throw new IllegalArgumentException(
-          "The given duration must be evenly divisible by the given chunkSize.");
-    }
-    if (chunkSize <= 0 || duration <= 0) {
-      throw new IllegalArgumentException("The given duration and chunkSize must be positive.");
-    }
-    //make the worklist, which in this case is just a copy of this TimeSet's intervalMarkers
-    List<ITimeIntervalMarker> worklist = this.getIntervalMarkers();
-    //sort the worklist
-    Collections.sort(worklist, new TimeIntervalMarkerComparator());
     //the list of TimeSets to return:
     List<ITimeSet> ret = new ArrayList<ITimeSet>();
-    //I had to use BigDecimals here because of precision issues
-    for (int i = 0; i < worklist.size(); i++) {
-      ITimeIntervalMarker currentMarker = worklist.get(i);
-      if (currentMarker.isStart()) {
-        for (BigDecimal t = new BigDecimal(currentMarker.getTime());
-             t.compareTo(new BigDecimal(currentMarker.getCounterpartTime())) < 0;
-             t = t.add(new BigDecimal(chunkSize))) {
-          if (t.add(new BigDecimal(duration)).compareTo(new BigDecimal(currentMarker.getCounterpartTime())) <= 0) {
-            ret.add(new TimeSet(t.doubleValue(), t.add(new BigDecimal(duration)).doubleValue()));
-          } else {
-            t = new BigDecimal(currentMarker.getCounterpartTime()); //end for loop prematurely
-          }
+    Iterator<ITimeSet> times = this.iterateTimesOfDuration(duration, chunkSize);
+    while (times.hasNext()) {
+      ret.add(times.next());
+    }
+    return ret;
+  }
+
+  @Override
+  public Iterator<ITimeSet> iterateTimesOfDuration(double duration, double chunkSize) {
+    checkDurationAndChunkSize(duration, chunkSize);
+    return new TimesOfDurationIterator(duration, chunkSize);
+  }
+
+  @Override
+  public int countTimesOfDuration(double duration, double chunkSize) {
+    checkDurationAndChunkSize(duration, chunkSize);
+    int count = 0;
+    boolean onTicks = TimeTicks.isOnTick(duration) && TimeTicks.isOnTick(chunkSize);
+    for (int i = 0; i < this.bounds.length; i += 2) {
+      //an interval of length len has floor((len - duration) / chunkSize) + 1 options in it
+      if (onTicks && TimeTicks.isOnTick(this.bounds[i]) && TimeTicks.isOnTick(this.bounds[i + 1])) {
+        int spareTicks = TimeTicks.toTicks(this.bounds[i + 1]) - TimeTicks.toTicks(this.bounds[i])
+            - TimeTicks.toTicks(duration);
+        if (spareTicks >= 0) {
+          count += spareTicks / TimeTicks.toTicks(chunkSize) + 1;
+        }
+      } else {
+        BigDecimal spare = new BigDecimal(this.bounds[i + 1])
+            .subtract(new BigDecimal(this.bounds[i]))
+            .subtract(new BigDecimal(duration));
+        if (spare.signum() >= 0) {
+          count += spare.divideToIntegralValue(new BigDecimal(chunkSize)).intValue() + 1;
         }
       }
     }
-    return ret;
+    return count;
   }
 
   @Override
   public ITimeSet addDays(int days) {
-    List<ITimeIntervalMarker> newIntervalMarkers = new ArrayList<ITimeIntervalMarker>();
-    for (ITimeIntervalMarker intervalMarker : intervalMarkers) {
-      if (intervalMarker.isStart()) {
-        double start = intervalMarker.getTime() + (24.0 * days);
-        double end = intervalMarker.getCounterpartTime() + (24.0 * days);
-        try {
-          newIntervalMarkers.add(new StartMarker(start, end));
-          newIntervalMarkers.add(new EndMarker(start, end));
-        } catch (IllegalArgumentException e) {
-          throw new IllegalArgumentException(
-              "You are trying to shift by a number of days that results in illegal TimeSets.");
-        }
+    double[] ret = new double[this.bounds.length];
+    for (int i = 0; i < this.bounds.length; i++) {
+      ret[i] = this.bounds[i] + (24.0 * days);
+      if (ret[i] < 0.0 || ret[i] > 168.0) {
+        throw new IllegalArgumentException(
+            "You are trying to shift by a number of days that results in illegal TimeSets.");
       }
     }
-    return new TimeSet(newIntervalMarkers);
+    return new TimeSet(ret);
   }
 
   @Override
   public boolean equals(Object obj) {
+    if (obj instanceof TimeSet) {
+      return Arrays.equals(this.bounds, ((TimeSet) obj).bounds);
+    }
     if (obj instanceof ITimeSet) {
       ITimeSet that = (ITimeSet) obj;
       List<ITimeIntervalMarker> thatIntervalMarkers = that.getIntervalMarkers();
-      if (this.intervalMarkers.size() == thatIntervalMarkers.size()) {
-        for (ITimeIntervalMarker intervalMarker : thatIntervalMarkers) {
-          if (!this.intervalMarkers.contains(intervalMarker)) {
-            return false;
-          }
-        }
-        return true;
+      if (this.bounds.length == thatIntervalMarkers.size()) {
+        return this.getIntervalMarkers().containsAll(thatIntervalMarkers);
       }
     }
     return false;
@@ -318,31 +307,184 @@ public class TimeSet implements ITimeSet {
 
   @Override
   public int hashCode() {
-    return Objects.hash(this.intervalMarkers);
+    return Arrays.hashCode(this.bounds);
   }
 
   @Override
   public String toTextOutput() {
-    String ret = "";
-    for (ITimeIntervalMarker intervalMarker : intervalMarkers) {
-      if (intervalMarker.isStart()) {
-        ret += "[" + intervalMarker.getTimeTextOutput() + ", "
-            + intervalMarker.getCounterpartTimeTextOutput() + "]";
-        ret += ", ";
-      }
+    StringBuilder ret = new StringBuilder();
+    try {
+      this.writeTextOutput(ret);
+    } catch (IOException e) {
+      throw new IllegalStateException(e); //a StringBuilder never throws
+    }
+    return ret.toString();
+  }
+
+  @Override
+  public void writeTextOutput(Appendable out) throws IOException {
+    for (int i = 0; i < this.bounds.length; i += 2) {
+      ITimeIntervalMarker intervalMarker = new StartMarker(this.bounds[i], this.bounds[i + 1]);
+      out.append("[").append(intervalMarker.getTimeTextOutput()).append(", ")
+          .append(intervalMarker.getCounterpartTimeTextOutput()).append("]");
+      out.append(", ");
     }
-    return ret;
   }
 
   @Override
   public String toString() {
-    String ret = "";
+    StringBuilder ret = new StringBuilder();
+    for (int i = 0; i < this.bounds.length; i += 2) {
+      ret.append("[").append(this.bounds[i]).append(", ").append(this.bounds[i + 1]).append("]");
+      ret.append(", ");
+    }
+    return ret.toString();
+  }
+
+  //non-public helper functions
+
+  /**
+   * Iterates over the continuous TimeSets of a given duration in this TimeSet, one interval
+   * at a time, only building each TimeSet when next() is called.
+   */
+  private final class TimesOfDurationIterator implements Iterator<ITimeSet> {
+
+    private double duration;
+    private double chunkSize;
+    private boolean onTicks;
+    private int interval; //index into bounds of the start of the current interval
+    private ITimeSet upcoming; //the TimeSet to return on the next call to next()
+    //when the current interval is a whole number of ticks we step through it exactly with ints
+    private boolean tickMode;
+    private int tick;
+    private int endTick;
+    private int durationTicks;
+    private int chunkTicks;
+    //otherwise we fall back to BigDecimals, to avoid piling up floating point error
+    private BigDecimal time;
+    private BigDecimal end;
+
+    TimesOfDurationIterator(double duration, double chunkSize) {
+      this.duration = duration;
+      this.chunkSize = chunkSize;
+      this.onTicks = TimeTicks.isOnTick(duration) && TimeTicks.isOnTick(chunkSize);
+      if (this.onTicks) {
+        this.durationTicks = TimeTicks.toTicks(duration);
+        this.chunkTicks = TimeTicks.toTicks(chunkSize);
+      }
+      this.interval = -2;
+      this.upcoming = this.findNext();
+    }
+
+    @Override
+    public boolean hasNext() {
+      return this.upcoming != null;
+    }
+
+    @Override
+    public ITimeSet next() {
+      if (this.upcoming == null) {
+        throw new NoSuchElementException("There are no more times of this duration.");
+      }
+      ITimeSet ret = this.upcoming;
+      this.upcoming = this.findNext();
+      return ret;
+    }
+
+    /**
+     * Returns the next TimeSet of this iterator's duration, moving on to later intervals
+     * as the current one runs out, or null if there are none left.
+     * @return the next TimeSet of this iterator's duration, or null if there are none left
+     */
+    private ITimeSet findNext() {
+      while (true) {
+        if (this.interval >= 0) {
+          if (this.tickMode) {
+            if (this.tick + this.durationTicks <= this.endTick) {
+              ITimeSet ret = new TimeSet(
+                  TimeTicks.toHours(this.tick), TimeTicks.toHours(this.tick + this.durationTicks));
+              this.tick += this.chunkTicks;
+              return ret;
+            }
+          } else {
+            BigDecimal timeEnd = this.time.add(new BigDecimal(this.duration));
+            if (timeEnd.compareTo(this.end) <= 0) {
+              ITimeSet ret = new TimeSet(this.time.doubleValue(), timeEnd.doubleValue());
+              this.time = this.time.add(new BigDecimal(this.chunkSize));
+              return ret;
+            }
+          }
+        }
+        //the current interval has run out, so move on to the next one
+        this.interval += 2;
+        if (this.interval >= bounds.length) {
+          return null;
+        }
+        double start = bounds[this.interval];
+        double end = bounds[this.interval + 1];
+        this.tickMode = this.onTicks && TimeTicks.isOnTick(start) && TimeTicks.isOnTick(end);
+        if (this.tickMode) {
+          this.tick = TimeTicks.toTicks(start);
+          this.endTick = TimeTicks.toTicks(end);
+        } else {
+          this.time = new BigDecimal(start);
+          this.end = new BigDecimal(end);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the sorted interval bounds of the given TimeSet, in the same format as this
+   * TimeSet's bounds. Other kinds of ITimeSets are converted through their interval markers.
+   * @param that the TimeSet to get the bounds of
+   * @return the sorted start and end times of the given TimeSet's intervals
+   */
+  static double[] boundsOf(ITimeSet that) {
+    if (that instanceof TimeSet) {
+      return ((TimeSet) that).bounds;
+    }
+    List<ITimeIntervalMarker> intervalMarkers = that.getIntervalMarkers();
+    Collections.sort(intervalMarkers, new TimeIntervalMarkerComparator());
+    double[] ret = new double[intervalMarkers.size()];
+    int size = 0;
     for (ITimeIntervalMarker intervalMarker : intervalMarkers) {
       if (intervalMarker.isStart()) {
-        ret += "[" + intervalMarker.getTime() + ", " + intervalMarker.getCounterpartTime() + "]";
-        ret += ", ";
+        ret[size] = intervalMarker.getTime();
+        ret[size + 1] = intervalMarker.getCounterpartTime();
+        size += 2;
       }
     }
     return ret;
   }
+
+  /**
+   * Checks that the given duration and chunkSize are positive, and that the duration
+   * is divisible by the chunkSize, throwing an IllegalArgumentException if not.
+   * @param duration the duration of the TimeSets to find
+   * @param chunkSize the size of the chunks TimeSets must be made up of
+   */
+  static void checkDurationAndChunkSize(double duration, double chunkSize) {
+    if (Math.abs(duration % chunkSize) > .01) {
+      throw new IllegalArgumentException(
+          "The given duration must be evenly divisible by the given chunkSize.");
+    }
+    if (chunkSize <= 0 || duration <= 0) {
+      throw new IllegalArgumentException("The given duration and chunkSize must be positive.");
+    }
+  }
+
+  /**
+   * Returns the given array cut down to the given size, or the array itself if it is
+   * already that size.
+   * @param bounds the array to trim
+   * @param size the number of elements to keep
+   * @return the first size elements of the given array
+   */
+  private static double[] trim(double[] bounds, int size) {
+    if (bounds.length == size) {
+      return bounds;
+    }
+    return Arrays.copyOf(bounds, size);
+  }
 }
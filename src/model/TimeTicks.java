@@ -0,0 +1,68 @@
+package model;
+
+/**
+ * Converts between times given as doubles measuring hours, which is how TimeSets
+ * represent times, and integer ticks. A tick is one minute, counted from 0:00am on
+ * monday, so every time in the week is a tick in the range [0, 10080].
+ * Doing arithmetic on ticks is exact, unlike adding up doubles.
+ */
+final class TimeTicks {
+
+  static final int TICKS_PER_HOUR = 60;
+  static final int TICKS_PER_DAY = 24 * TICKS_PER_HOUR;
+
+  private TimeTicks() {
+  }
+
+  /**
+   * Returns whether or not the given time falls exactly on a tick, meaning that
+   * converting it to ticks and back gives exactly the same double.
+   * @param hours the time in hours
+   * @return whether or not the given time is a whole number of ticks
+   */
+  static boolean isOnTick(double hours) {
+    double ticks = hours * TICKS_PER_HOUR;
+    return Math.abs(ticks) < Integer.MAX_VALUE && toHours((int) Math.rint(ticks)) == hours;
+  }
+
+  /**
+   * Returns the given time in hours as a number of ticks, rounded to the nearest tick.
+   * @param hours the time in hours
+   * @return the given time as a number of ticks
+   */
+  static int toTicks(double hours) {
+    return (int) Math.round(hours * TICKS_PER_HOUR);
+  }
+
+  /**
+   * Returns the given number of ticks as a time in hours.
+   * @param ticks the number of ticks
+   * @return the given number of ticks in hours
+   */
+  static double toHours(int ticks) {
+    return ticks / (double) TICKS_PER_HOUR;
+  }
+
+  /**
+   * Returns the given number of ticks as a String of the format h:mm[pm/am],
+   * aka the format it would appear in on a digital clock.
+   * [pm/am] indicates that either pm or am will appear after the time.
+   * @param ticks the time to convert, in ticks
+   * @return the given time as a String, in the form it would appear in a digital clock
+   */
+  static String toClockString(int ticks) {
+    int tickOfDay = ticks % TICKS_PER_DAY;
+    int hourOfDay = tickOfDay / TICKS_PER_HOUR;
+    int minutesOfHour = tickOfDay % TICKS_PER_HOUR;
+    String ampm = "am";
+    if (hourOfDay >= 12) {
+      ampm = "pm";
+    }
+    //pad the minutes with a zero as necessary
+    String minutesComponent = Integer.toString(minutesOfHour);
+    if (minutesOfHour < 10) {
+      minutesComponent = "0" + minutesComponent;
+    }
+    return hourOfDay + ":" + minutesComponent + ampm;
+  }
+}
@@ -0,0 +1,141 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An event that could not be placed in a schedule, along with why. When an event has no
+ * time left when all of its members are free and its location isn't in use, the people and
+ * location blocking it are the ones without whom it would have had a time: the ones to ask
+ * about moving something, or to take out of the event.
+ */
+public final class UnplacedEvent {
+
+  private IUnscheduledEvent event;
+  private List<IPerson> blockingPeople;
+  private ILocation blockingLocation;
+  private String reason;
+
+  private UnplacedEvent(IUnscheduledEvent event, List<IPerson> blockingPeople, ILocation blockingLocation,
+      String reason) {
+    this.event = event;
+    this.blockingPeople = Collections.unmodifiableList(blockingPeople);
+    this.blockingLocation = blockingLocation;
+    this.reason = reason;
+  }
+
+  /**
+   * Returns the UnplacedEvent of the given event, which has no options given the availabilities
+   * of its members and the unavailability of its location, working out who and what is blocking it.
+   * (runs in O(k^2 * m) time, where k is the number of members and m the number of intervals
+   * in their availabilities)
+   * @param event the event that couldn't be placed
+   * @param memberAvailabilities the availability of every member of the event's group
+   * @param locationUnavailability the unavailability of the event's location
+   * @param chunkSize the atomic smallest unit that scheduled times are made up of
+   * @return the UnplacedEvent of the given event
+   */
+  static UnplacedEvent diagnose(IUnscheduledEvent event, Map<IPerson, ITimeSet> memberAvailabilities,
+      ITimeSet locationUnavailability, double chunkSize) {
+    List<IPerson> members = new ArrayList<IPerson>(memberAvailabilities.keySet());
+    List<IPerson> blockingPeople = new ArrayList<IPerson>();
+    for (IPerson p : members) {
+      //would the event fit if this person didn't have to be there?
+      List<ITimeSet> others = new ArrayList<ITimeSet>();
+      for (IPerson q : members) {
+        if (q != p) {
+          others.add(memberAvailabilities.get(q));
+        }
+      }
+      if (hasTime(event, intersectAll(others).subtract(locationUnavailability), chunkSize)) {
+        blockingPeople.add(p);
+      }
+    }
+    Collections.sort(blockingPeople, (p1, p2) -> p1.getName().compareTo(p2.getName()));
+    ITimeSet groupAvailability = intersectAll(new ArrayList<ITimeSet>(memberAvailabilities.values()));
+    ILocation blockingLocation = hasTime(event, groupAvailability, chunkSize) ? event.getLocation() : null;
+
+    String reason;
+    if (blockingPeople.isEmpty() && blockingLocation == null) {
+      reason = "There is no time of " + event.getDuration()
+          + " hours when its members and location are all free, even leaving any one of them out.";
+    } else {
+      List<String> names = new ArrayList<String>();
+      for (IPerson p : blockingPeople) {
+        names.add(p.getName());
+      }
+      if (blockingLocation != null) {
+        names.add(blockingLocation.getName());
+      }
+      reason = "There is no time of " + event.getDuration()
+          + " hours when its members and location are all free. It would fit without: "
+          + String.join(", ", names);
+    }
+    return new UnplacedEvent(event, blockingPeople, blockingLocation, reason);
+  }
+
+  /**
+   * Returns the UnplacedEvent of the given event, which the search stopped before getting to.
+   * @param event the event that wasn't placed
+   * @return the UnplacedEvent of the given event
+   */
+  static UnplacedEvent notReached(IUnscheduledEvent event) {
+    return new UnplacedEvent(event, new ArrayList<IPerson>(), null, "The search stopped before placing it.");
+  }
+
+  /**
+   * Returns the event that couldn't be placed.
+   * @return the event that couldn't be placed
+   */
+  public IUnscheduledEvent getEvent() {
+    return this.event;
+  }
+
+  /**
+   * Returns the members of the event's group without any one of whom the event would have fit,
+   * in order of their names.
+   * @return the people blocking the event, which cannot be modified
+   */
+  public List<IPerson> getBlockingPeople() {
+    return this.blockingPeople;
+  }
+
+  /**
+   * Returns the event's location if the event would have fit anywhere else, otherwise null.
+   * @return the location blocking the event, or null if it isn't
+   */
+  public ILocation getBlockingLocation() {
+    return this.blockingLocation;
+  }
+
+  /**
+   * Returns why the event couldn't be placed, in words.
+   * @return why the event couldn't be placed
+   */
+  public String getReason() {
+    return this.reason;
+  }
+
+  @Override
+  public String toString() {
+    return this.event.getName() + ": " + this.reason;
+  }
+
+  //non-public helper functions
+
+  /**
+   * Returns the intersection of the given TimeSets, where the intersection of none is the whole week.
+   */
+  private static ITimeSet intersectAll(List<ITimeSet> timeSets) {
+    if (timeSets.isEmpty()) {
+      return new TimeSet(0.0, 168.0);
+    }
+    return timeSets.get(0).intersect(timeSets.subList(1, timeSets.size()));
+  }
+
+  private static boolean hasTime(IUnscheduledEvent event, ITimeSet availability, double chunkSize) {
+    return availability.countTimesOfDuration(event.getDuration(), chunkSize) > 0;
+  }
+}
@@ -2,6 +2,7 @@ package model;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -18,8 +19,6 @@ public class UnscheduledEvent implements IUnscheduledEvent {
   private double duration;
   private int priority;
 
-  //TODO make ScheduleState
-
   /**
    * Constructs an UnscheduledEvent with the given name, group of people, location, duration and priority level
    * @param name the name of the event
@@ -55,9 +54,9 @@ public class UnscheduledEvent implements IUnscheduledEvent {
   @Override
   public ITimeSet getOptionSpace(double chunkSize) {
     ITimeSet ret = new TimeSet();
-    List<ITimeSet> options = this.getOptions(chunkSize);
-    for (ITimeSet option : options) {
-      ret = ret.union(option);
+    Iterator<ITimeSet> options = this.iterateOptions(chunkSize);
+    while (options.hasNext()) {
+      ret = ret.union(options.next());
     }
     return ret;
   }
@@ -67,10 +66,15 @@ public class UnscheduledEvent implements IUnscheduledEvent {
     return this.getAvailability().allTimesOfDuration(this.getDuration(), chunkSize);
   }
 
+  @Override
+  public Iterator<ITimeSet> iterateOptions(double chunkSize) {
+    return this.getAvailability().iterateTimesOfDuration(this.getDuration(), chunkSize);
+  }
+
   @Override
   public boolean independentFrom(IUnscheduledEvent that) {
     return this.location != that.getLocation()
-        && this.group.getCommonMembersWith(that.getGroup()).size() == 0;
+        && !this.group.sharesMembersWith(that.getGroup());
   }
 
   //runs in O(n) time where n is number of events to schedule
@@ -79,6 +83,11 @@ public class UnscheduledEvent implements IUnscheduledEvent {
     return new OptionMetric(this, considered, toBeScheduled, chunkSize);
   }
 
+  @Override
+  public IOptionMetric consider(ITimeSet considered, OptionBaseline baseline, List<IUnscheduledEvent> affected) {
+    return new OptionMetric(this, considered, baseline, affected);
+  }
+
   @Override
   public double getDuration() {
     return this.duration;
@@ -0,0 +1,85 @@
+package model;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static junit.framework.TestCase.assertEquals;
+
+/**
+ * Tests for the AnytimeScheduler class.
+ */
+public class AnytimeSchedulerTests {
+
+  List<IUnscheduledEvent> events;
+  IPerson p1;
+
+  /**
+   * Initializes the data: two 2 hour events for the same person in a 6 hour day.
+   */
+  public void initData() {
+    p1 = new Person("P1", new TimeSet(0.0, 6.0));
+    events = new ArrayList<IUnscheduledEvent>();
+    events.add(new UnscheduledEvent("A", new Group("A", p1), new Location("Room1"), 2.0, 1));
+    events.add(new UnscheduledEvent("B", new Group("B", p1), new Location("Room2"), 2.0, 1));
+  }
+
+  @Test
+  public void testRunsEveryPass() {
+    initData();
+    AnytimeResult result = new AnytimeScheduler(1.0, 16, 1)
+        .schedule(events, Duration.ofSeconds(10), new CancellationToken());
+    assertEquals(true, result.isComplete());
+    assertEquals(16, result.getStartsRun());
+    assertEquals(16, result.getCompleteStarts());
+    assertEquals(AnytimeResult.StopReason.FINISHED, result.getStopReason());
+    assertEquals(2, result.getSchedule().getEvents().size());
+    //the random passes find A and B at either end of the day, which has more slack than greedy
+    assertEquals(-6.0, result.getCost());
+    assertEquals(new TimeSet(2.0, 4.0), p1.getCurrentAvailability());
+  }
+
+  @Test
+  public void testCancelled() {
+    initData();
+    CancellationToken token = new CancellationToken();
+    token.cancel();
+    AnytimeResult result = new AnytimeScheduler(1.0, 16, 1).schedule(events, Duration.ofSeconds(10), token);
+    assertEquals(false, result.isComplete());
+    assertEquals(0, result.getPlaced());
+    assertEquals(1, result.getStartsRun());
+    assertEquals(AnytimeResult.StopReason.CANCELLED, result.getStopReason());
+    assertEquals(0, result.getSchedule().getEvents().size());
+    assertEquals(2, result.getSchedule().getUnplaced().size());
+    assertEquals("The search stopped before placing it.", result.getSchedule().getUnplaced().get(0).getReason());
+    assertEquals(new TimeSet(0.0, 6.0), p1.getCurrentAvailability());
+  }
+
+  @Test
+  public void testPartialSchedule() {
+    p1 = new Person("P1", new TimeSet(0.0, 2.0));
+    events = new ArrayList<IUnscheduledEvent>();
+    events.add(new UnscheduledEvent("A", new Group("A", p1), new Location("Room1"), 2.0, 1));
+    events.add(new UnscheduledEvent("B", new Group("B", p1), new Location("Room1"), 1.0, 1));
+    //A has the fewest options so goes first, and then B has nowhere to go
+    AnytimeResult result = new AnytimeScheduler(1.0, 4, 1)
+        .schedule(events, Duration.ofSeconds(10), new CancellationToken());
+    assertEquals(false, result.isComplete());
+    assertEquals(1, result.getPlaced());
+    assertEquals(2, result.getEventCount());
+    assertEquals(0, result.getCompleteStarts());
+    assertEquals("A", result.getSchedule().getEvents().get(0).getName());
+    //B is left out, blocked by P1
+    assertEquals(1, result.getSchedule().getUnplaced().size());
+    assertEquals("B", result.getSchedule().getUnplaced().get(0).getEvent().getName());
+    assertEquals(p1, result.getSchedule().getUnplaced().get(0).getBlockingPeople().get(0));
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testBudgetException() {
+    initData();
+    new AnytimeScheduler(1.0, 16, 1).schedule(events, Duration.ZERO, new CancellationToken());
+  }
+}
@@ -0,0 +1,96 @@
+package model;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static junit.framework.TestCase.assertEquals;
+
+/**
+ * Tests for the BeamScheduler class.
+ */
+public class BeamSchedulerTests {
+
+  IPerson p0;
+  IPerson p1;
+  IPerson p2;
+  IPerson p3;
+
+  ILocation room;
+
+  List<IUnscheduledEvent> toSchedule;
+
+  /**
+   * Initializes the data: five events that exactly fill one room from 0 to 8, in a way the
+   * greedy Scheduler doesn't find.
+   */
+  public void initData() {
+    p0 = new Person("P0", new TimeSet(0.0, 8.0));
+    p1 = new Person("P1", new TimeSet(0.0, 7.0));
+    p2 = new Person("P2", new TimeSet(2.0, 8.0));
+    p3 = new Person("P3", new TimeSet(0.0, 3.0).union(new TimeSet(4.0, 7.0)));
+    room = new Location("Room1");
+    Set<IPerson> members0 = new HashSet<IPerson>();
+    members0.add(p0);
+    members0.add(p2);
+    Set<IPerson> members1 = new HashSet<IPerson>();
+    members1.add(p2);
+    members1.add(p3);
+    toSchedule = new ArrayList<IUnscheduledEvent>();
+    toSchedule.add(new UnscheduledEvent("E0", new Group("G0", members0), room, 2.0, 1));
+    toSchedule.add(new UnscheduledEvent("E1", new Group("G1", members1), room, 2.0, 1));
+    toSchedule.add(new UnscheduledEvent("E2", new Group("G2", p1), room, 1.0, 1));
+    toSchedule.add(new UnscheduledEvent("E3", new Group("G3", p1), room, 1.0, 1));
+    toSchedule.add(new UnscheduledEvent("E4", new Group("G4", p1), room, 2.0, 1));
+  }
+
+  @Test
+  public void testWidthOneSameAsGreedy() {
+    IPerson allFree = new Person("AllFree", new TimeSet(0.0, 6.0));
+    IPerson last4 = new Person("Last4", new TimeSet(2.0, 6.0));
+    ILocation loc1 = new Location("Room1");
+    ILocation loc2 = new Location("Room2");
+    List<IUnscheduledEvent> events = new ArrayList<IUnscheduledEvent>();
+    events.add(new UnscheduledEvent("A", new Group("A", allFree), loc1, 2.0, 1));
+    events.add(new UnscheduledEvent("B", new Group("B", last4), loc1, 1.0, 1));
+    events.add(new UnscheduledEvent("C", new Group("C", allFree), loc2, 1.0, 2));
+    ISchedule produced = new BeamScheduler(1.0, 1, 1).schedule(events);
+    assertEquals("C", produced.getEventAt(new TimeSet(0.0, 1.0), loc2).getName());
+    assertEquals("A", produced.getEventAt(new TimeSet(1.0, 3.0), loc1).getName());
+    assertEquals("B", produced.getEventAt(new TimeSet(3.0, 4.0), loc1).getName());
+    //the people and locations are updated for the final schedule
+    assertEquals(new TimeSet(3.0, 6.0), allFree.getCurrentAvailability());
+    assertEquals(new TimeSet(1.0, 3.0).union(new TimeSet(3.0, 4.0)), loc1.getUnavailability());
+  }
+
+  @Test
+  public void testWiderBeamSolvesWhereGreedyFails() {
+    initData();
+    boolean narrowFailed = false;
+    try {
+      new BeamScheduler(1.0, 1, 1).schedule(toSchedule);
+    } catch (IllegalStateException e) {
+      narrowFailed = true;
+    }
+    assertEquals(true, narrowFailed);
+    //failing leaves everyone the way they were
+    assertEquals(new TimeSet(0.0, 7.0), p1.getCurrentAvailability());
+    assertEquals(new TimeSet(), room.getUnavailability());
+
+    initData();
+    ISchedule produced = new BeamScheduler(1.0, 8, 4).schedule(toSchedule);
+    assertEquals("E4", produced.getEventAt(new TimeSet(0.0, 2.0), room).getName());
+    assertEquals("E2", produced.getEventAt(new TimeSet(2.0, 3.0), room).getName());
+    assertEquals("E3", produced.getEventAt(new TimeSet(3.0, 4.0), room).getName());
+    assertEquals("E1", produced.getEventAt(new TimeSet(4.0, 6.0), room).getName());
+    assertEquals("E0", produced.getEventAt(new TimeSet(6.0, 8.0), room).getName());
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testBeamWidthException() {
+    new BeamScheduler(1.0, 0, 1);
+  }
+}
@@ -0,0 +1,101 @@
+package model;
+
+import org.junit.Test;
+
+import java.util.*;
+
+import static junit.framework.TestCase.assertEquals;
+
+/**
+ * Tests for the class ChunkTimeSet
+ */
+public class ChunkTimeSetTests {
+
+  @Test
+  public void testChunkTimeSetConstructor() {
+    ITimeSet t1 = new ChunkTimeSet(12.0, 24.0, .25);
+    List<ITimeIntervalMarker> t1ims = t1.getIntervalMarkers();
+    assertEquals(2, t1ims.size());
+    assertEquals(true, t1ims.contains(new StartMarker(12.0, 24.0)));
+    assertEquals(true, t1ims.contains(new EndMarker(12.0, 24.0)));
+    //edge of range
+    ITimeSet t2 = new ChunkTimeSet(0.0, 168.0, .25);
+    assertEquals(new TimeSet(0.0, 168.0), t2);
+    //converted from a TimeSet
+    ITimeSet t3 = new ChunkTimeSet(new TimeSet(1.25, 3.0).union(new TimeSet(5.0, 6.5)), .25);
+    assertEquals(new TimeSet(1.25, 3.0).union(new TimeSet(5.0, 6.5)), t3);
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testChunkTimeSetOffGridException() {
+    ITimeSet t1 = new ChunkTimeSet(1.1, 3.0, .25);
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testChunkTimeSetChunkSizeException() {
+    ITimeSet t1 = new ChunkTimeSet(5.0);
+  }
+
+  @Test
+  public void testSetArithmetic() {
+    ITimeSet t1 = new ChunkTimeSet(12.0, 24.0, .5);
+    ITimeSet t2 = new ChunkTimeSet(36.0, 48.0, .5);
+    ITimeSet t3 = new ChunkTimeSet(20.0, 40.0, .5);
+    ITimeSet t4 = new ChunkTimeSet(25.0, 33.0, .5);
+    //union
+    assertEquals(new TimeSet(12.0, 24.0).union(new TimeSet(36.0, 48.0)), t1.union(t2));
+    assertEquals(new TimeSet(12.0, 48.0), t1.union(t2).union(t3));
+    //intersect
+    assertEquals(new TimeSet(), t1.intersect(t2));
+    assertEquals(new TimeSet(20.0, 24.0), t1.intersect(t3));
+    List<ITimeSet> testTimeSets = new ArrayList<ITimeSet>();
+    testTimeSets.add(t4);
+    testTimeSets.add(new TimeSet(7.5, 69.0));
+    assertEquals(new TimeSet(25.0, 33.0), t3.intersect(testTimeSets));
+    //complement
+    assertEquals(new TimeSet(0.0, 12.0).union(new TimeSet(24.0, 168.0)), t1.complement());
+    assertEquals(new TimeSet(), new ChunkTimeSet(0.0, 168.0, .5).complement());
+    //subtract
+    assertEquals(new TimeSet(24.0, 40.0), t3.subtract(t1));
+    assertEquals(new TimeSet(12.0, 20.0), t1.subtract(t3));
+    //mixing with a TimeSet on the same grid
+    assertEquals(new TimeSet(24.0, 25.0), t3.subtract(new TimeSet(25.0, 48.0)).subtract(t1));
+  }
+
+  @Test
+  public void testAllTimesOfDuration() {
+    ITimeSet t1 = new ChunkTimeSet(12.5, 14.0, .25);
+    List<ITimeSet> timeList1 = t1.allTimesOfDuration(0.5, .25);
+    assertEquals(5, timeList1.size());
+    assertEquals(true, timeList1.contains(new ChunkTimeSet(12.5, 13.0, .25)));
+    assertEquals(true, timeList1.contains(new ChunkTimeSet(12.75, 13.25, .25)));
+    assertEquals(true, timeList1.contains(new ChunkTimeSet(13.5, 14.0, .25)));
+    //two disjoint intervals
+    List<ITimeSet> timeList2 = t1.union(new ChunkTimeSet(36.0, 38.0, .25)).allTimesOfDuration(1.0, .5);
+    assertEquals(5, timeList2.size());
+    assertEquals(true, timeList2.contains(new TimeSet(36.5, 37.5)));
+    //no valid times
+    assertEquals(0, t1.allTimesOfDuration(10.0, .25).size());
+    //counting
+    assertEquals(5, t1.countTimesOfDuration(0.5, .25));
+    assertEquals(5, t1.union(new ChunkTimeSet(36.0, 38.0, .25)).countTimesOfDuration(1.0, .5));
+    assertEquals(0, t1.countTimesOfDuration(10.0, .25));
+  }
+
+  @Test
+  public void testAddDays() {
+    ITimeSet t1 = new ChunkTimeSet(1.0, 7.0, .25);
+    assertEquals(new TimeSet(25.0, 31.0), t1.addDays(1));
+    assertEquals(new TimeSet(1.0, 7.0), t1.addDays(2).addDays(-1).addDays(-1));
+  }
+
+  @Test
+  public void testEqualsAndHashCode() {
+    ITimeSet t1 = new ChunkTimeSet(0.0, 3.25, .25);
+    ITimeSet t2 = new TimeSet(0.0, 3.25);
+    assertEquals(true, t1.equals(t2));
+    assertEquals(true, t2.equals(t1));
+    assertEquals(true, t1.hashCode() == t2.hashCode());
+    assertEquals(false, t1.equals(new ChunkTimeSet(0.0, 3.0, .25)));
+  }
+}
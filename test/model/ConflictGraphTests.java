@@ -0,0 +1,74 @@
+package model;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static junit.framework.TestCase.assertEquals;
+
+/**
+ * Tests for the ConflictGraph class.
+ */
+public class ConflictGraphTests {
+
+  @Test
+  public void testNeighboursOf() {
+    IPerson p1 = new Person("P1", new TimeSet(0.0, 6.0));
+    IPerson p2 = new Person("P2", new TimeSet(0.0, 6.0));
+    IPerson p3 = new Person("P3", new TimeSet(0.0, 6.0));
+    Set<IPerson> members = new HashSet<IPerson>();
+    members.add(p1);
+    members.add(p2);
+    ILocation loc1 = new Location("Room1");
+    ILocation loc2 = new Location("Room2");
+    IUnscheduledEvent shared = new UnscheduledEvent("Shared", new Group("A", members), loc1, 1.0, 1);
+    IUnscheduledEvent sameMember = new UnscheduledEvent("SameMember", new Group("B", p2), loc2, 1.0, 1);
+    IUnscheduledEvent sameRoom = new UnscheduledEvent("SameRoom", new Group("C", p3), loc1, 1.0, 1);
+    IUnscheduledEvent unrelated = new UnscheduledEvent("Unrelated", new Group("D", p3), loc2, 1.0, 1);
+    List<IUnscheduledEvent> events = new ArrayList<IUnscheduledEvent>();
+    events.add(shared);
+    events.add(sameMember);
+    events.add(sameRoom);
+    events.add(unrelated);
+    ConflictGraph graph = new ConflictGraph(events);
+    assertEquals(2, graph.neighboursOf(shared).size());
+    assertEquals(true, graph.neighboursOf(shared).contains(sameMember));
+    assertEquals(true, graph.neighboursOf(shared).contains(sameRoom));
+    assertEquals(true, graph.neighboursOf(sameMember).contains(unrelated));
+    assertEquals(false, graph.neighboursOf(sameMember).contains(sameRoom));
+    assertEquals(true, graph.neighboursOf(sameRoom).contains(unrelated));
+    assertEquals(false, graph.neighboursOf(unrelated).contains(shared));
+    assertEquals(0, graph.neighboursOf(new UnscheduledEvent()).size());
+  }
+
+  @Test
+  public void testInterferes() {
+    ILocation loc1 = new Location("Room1");
+    ILocation loc2 = new Location("Room2");
+    List<IUnscheduledEvent> events = new ArrayList<IUnscheduledEvent>();
+    //enough events that the matrix needs more than one word per row
+    for (int i = 0; i < 100; i++) {
+      IPerson p = new Person("P" + i, new TimeSet(0.0, 6.0));
+      events.add(new UnscheduledEvent("E" + i, new Group("G" + i, p), i % 10 == 0 ? loc1 : loc2, 1.0, 1));
+    }
+    ConflictGraph graph = new ConflictGraph(events);
+    assertEquals(100, graph.size());
+    for (int i = 0; i < events.size(); i++) {
+      assertEquals(i, graph.indexOf(events.get(i)));
+      for (int j = 0; j < events.size(); j++) {
+        IUnscheduledEvent a = events.get(i);
+        IUnscheduledEvent b = events.get(j);
+        assertEquals(i != j && !a.independentFrom(b), graph.interferes(a, b));
+        assertEquals(graph.neighboursOf(a).contains(b), graph.interferes(a, b));
+      }
+    }
+    IUnscheduledEvent unknown = new UnscheduledEvent(
+        "Unknown", new Group("G", new Person("P", new TimeSet(0.0, 6.0))), loc1, 1.0, 1);
+    assertEquals(-1, graph.indexOf(unknown));
+    assertEquals(true, graph.interferes(unknown, events.get(0)));
+    assertEquals(false, graph.interferes(unknown, events.get(1)));
+  }
+}
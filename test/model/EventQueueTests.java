@@ -0,0 +1,74 @@
+package model;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static junit.framework.TestCase.assertEquals;
+
+/**
+ * Tests for the EventQueue class.
+ */
+public class EventQueueTests {
+
+  IUnscheduledEvent makeEvent(String name, int people, double duration, int priority) {
+    IGroup group = new Group();
+    if (people > 0) {
+      Set<IPerson> members = new HashSet<IPerson>();
+      for (int i = 0; i < people; i++) {
+        members.add(new Person(name + i, new TimeSet(0.0, 6.0)));
+      }
+      group = new Group(name, members);
+    }
+    return new UnscheduledEvent(name, group, new Location("Room1"), duration, priority);
+  }
+
+  @Test
+  public void testPollOrder() {
+    IUnscheduledEvent lowPriority = makeEvent("LowPriority", 1, 1.0, 1);
+    IUnscheduledEvent highPriority = makeEvent("HighPriority", 1, 1.0, 2);
+    IUnscheduledEvent fewOptions = makeEvent("FewOptions", 1, 1.0, 1);
+    IUnscheduledEvent longer = makeEvent("Longer", 1, 2.0, 1);
+    IUnscheduledEvent bigger = makeEvent("Bigger", 3, 1.0, 1);
+    IUnscheduledEvent tie = makeEvent("Tie", 1, 1.0, 1);
+    EventQueue queue = new EventQueue();
+    queue.add(lowPriority, 5);
+    queue.add(highPriority, 5);
+    queue.add(fewOptions, 2);
+    queue.add(longer, 5);
+    queue.add(bigger, 5);
+    queue.add(tie, 5);
+    assertEquals(6, queue.size());
+    assertEquals(highPriority, queue.poll());
+    assertEquals(fewOptions, queue.poll());
+    assertEquals(longer, queue.poll());
+    assertEquals(bigger, queue.poll());
+    assertEquals(lowPriority, queue.poll()); //ties come out in the order they were added
+    assertEquals(tie, queue.poll());
+    assertEquals(true, queue.isEmpty());
+  }
+
+  @Test
+  public void testUpdateAndRemove() {
+    IUnscheduledEvent a = makeEvent("A", 1, 1.0, 1);
+    IUnscheduledEvent b = makeEvent("B", 1, 1.0, 1);
+    IUnscheduledEvent c = makeEvent("C", 1, 1.0, 1);
+    EventQueue queue = new EventQueue();
+    queue.add(a, 3);
+    queue.add(b, 4);
+    queue.add(c, 5);
+    queue.update(c, 1);
+    queue.update(a, 6);
+    queue.remove(b);
+    assertEquals(false, queue.contains(b));
+    assertEquals(c, queue.poll());
+    assertEquals(a, queue.poll());
+    assertEquals(true, queue.isEmpty());
+  }
+
+  @Test (expected = IllegalStateException.class)
+  public void testPollEmptyException() {
+    new EventQueue().poll();
+  }
+}
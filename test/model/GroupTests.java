@@ -119,4 +119,87 @@ public class GroupTests {
             || g1.toString().equals("G1: (Griffin, Julia, Zach, Mari)")
             || g1.toString().equals("G1: (Mari, Griffin, Julia, Zach)"));*/
   }
+
+  @Test
+  public void testGetAvailabilityRemembered() {
+    IPerson zach = new Person("Zach", new TimeSet(0.0, 6.0));
+    IPerson mari = new Person("Mari", new TimeSet(2.0, 8.0));
+    Set<IPerson> people = new HashSet<IPerson>();
+    people.add(zach);
+    people.add(mari);
+    IGroup g1 = new Group("G1", people);
+    ITimeSet t1 = g1.getAvailability();
+    //nothing has changed, so the same availability comes back without recomputing it
+    assertEquals(true, t1 == g1.getAvailability());
+    mari.setCurrentAvailability(new TimeSet(4.0, 8.0));
+    assertEquals(new TimeSet(4.0, 6.0), g1.getAvailability());
+  }
+
+  @Test
+  public void testSharesMembersWith() {
+    IPerson zach = new Person("Zach", new TimeSet(0.0, 6.0), 0);
+    IPerson mari = new Person("Mari", new TimeSet(0.0, 6.0), 1);
+    IPerson griffin = new Person("Griffin", new TimeSet(0.0, 6.0), 70);
+    IPerson julia = new Person("Julia", new TimeSet(0.0, 6.0)); //no id
+    Set<IPerson> people1 = new HashSet<IPerson>();
+    people1.add(zach);
+    people1.add(griffin);
+    IGroup g1 = new Group("G1", people1);
+    IGroup g2 = new Group("G2", mari);
+    IGroup g3 = new Group("G3", griffin);
+    Set<IPerson> people4 = new HashSet<IPerson>();
+    people4.add(julia);
+    people4.add(zach);
+    IGroup g4 = new Group("G4", people4);
+    //all ids, checked with bitsets of different lengths
+    assertEquals(false, g1.sharesMembersWith(g2));
+    assertEquals(true, g1.sharesMembersWith(g3));
+    assertEquals(true, g3.sharesMembersWith(g1));
+    assertEquals(false, g2.sharesMembersWith(g3));
+    //some members without ids
+    assertEquals(true, g4.sharesMembersWith(g1));
+    assertEquals(false, g4.sharesMembersWith(g2));
+    assertEquals(false, g4.sharesMembersWith(new Group()));
+    //should always agree with getCommonMembersWith
+    IGroup[] groups = {g1, g2, g3, g4};
+    for (IGroup a : groups) {
+      for (IGroup b : groups) {
+        assertEquals(a.getCommonMembersWith(b).size() > 0, a.sharesMembersWith(b));
+      }
+    }
+  }
+
+  @Test
+  public void testSharesMembersWithCopies() {
+    IPerson zach = new Person("Zach", new TimeSet(0.0, 6.0), 0);
+    IPerson mari = new Person("Mari", new TimeSet(0.0, 6.0), 1);
+    IPerson otherZero = new Person("Other", new TimeSet(0.0, 6.0), 0); //read in separately
+    IGroup g1 = new Group("G1", zach);
+    IGroup copy = g1.copy();
+    Set<IPerson> people3 = new HashSet<IPerson>();
+    people3.add(zach.copy());
+    people3.add(mari);
+    IGroup g3 = new Group("G3", people3);
+    Set<IPerson> people4 = new HashSet<IPerson>();
+    people4.add(zach.copy());
+    people4.add(zach);
+    IGroup g4 = new Group("G4", people4);
+    //people with the same id are only common members if they're the same person
+    assertEquals(false, g1.sharesMembersWith(copy));
+    assertEquals(false, g1.sharesMembersWith(g3));
+    assertEquals(false, g1.sharesMembersWith(new Group("G5", otherZero)));
+    assertEquals(true, g4.sharesMembersWith(g1));
+    assertEquals(true, g1.sharesMembersWith(g4));
+    IGroup[] groups = {g1, copy, g3, g4};
+    for (IGroup a : groups) {
+      for (IGroup b : groups) {
+        assertEquals(a.getCommonMembersWith(b).size() > 0, a.sharesMembersWith(b));
+      }
+    }
+  }
+
+  @Test (expected = UnsupportedOperationException.class)
+  public void testGetMembersUnmodifiable() {
+    new Group("G1", new Person("Zach", new TimeSet(0.0, 6.0))).getMembers().clear();
+  }
 }
@@ -0,0 +1,133 @@
+package model;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static junit.framework.TestCase.assertEquals;
+
+/**
+ * Tests for the LocalSearchOptimizer class.
+ */
+public class LocalSearchOptimizerTests {
+
+  /**
+   * Scores an event by how early it starts, so the latest schedule is the cheapest.
+   */
+  private static final class LatestStartObjective implements IScheduleObjective {
+
+    @Override
+    public double costOf(IUnscheduledEvent event, ITimeSet time, ITimeSet availability, double chunkSize) {
+      return -time.getIntervalMarkers().get(0).getTime();
+    }
+  }
+
+  @Test
+  public void testUserSuppliedObjective() {
+    IPerson p1 = new Person("P1", new TimeSet(0.0, 6.0));
+    IPerson p2 = new Person("P2", new TimeSet(2.0, 6.0));
+    ILocation loc1 = new Location("Room1");
+    ILocation loc2 = new Location("Room2");
+    List<IUnscheduledEvent> events = new ArrayList<IUnscheduledEvent>();
+    events.add(new UnscheduledEvent("A", new Group("A", p1), loc1, 1.0, 1));
+    events.add(new UnscheduledEvent("B", new Group("B", p2), loc2, 1.0, 1));
+    //greedily, both go at the earliest time they can
+    ISchedule produced = new LocalSearchOptimizer(new Scheduler(1.0), 1.0, new LatestStartObjective(),
+        2000, 10000, 1.0, 7).schedule(events);
+    assertEquals("A", produced.getEventAt(new TimeSet(5.0, 6.0), loc1).getName());
+    assertEquals("B", produced.getEventAt(new TimeSet(5.0, 6.0), loc2).getName());
+    //the people and locations are updated for the optimized schedule only
+    assertEquals(new TimeSet(0.0, 5.0), p1.getCurrentAvailability());
+    assertEquals(new TimeSet(2.0, 5.0), p2.getCurrentAvailability());
+    assertEquals(new TimeSet(5.0, 6.0), loc1.getUnavailability());
+  }
+
+  @Test
+  public void testSlackMovesEventsApart() {
+    IPerson p1 = new Person("P1", new TimeSet(0.0, 6.0));
+    ILocation loc1 = new Location("Room1");
+    ILocation loc2 = new Location("Room2");
+    List<IUnscheduledEvent> events = new ArrayList<IUnscheduledEvent>();
+    events.add(new UnscheduledEvent("A", new Group("A", p1), loc1, 2.0, 1));
+    events.add(new UnscheduledEvent("B", new Group("B", p1), loc2, 2.0, 1));
+    //greedily, A goes at 0 and B right after it at 2, leaving each only 2 places to move to
+    ISchedule produced = new LocalSearchOptimizer(new Scheduler(1.0), 1.0, new SlackObjective(),
+        2000, 10000, 1.0, 7).schedule(events);
+    assertEquals(2, produced.getEvents().size());
+    //with A and B at either end of the day, each can move to 3 places, which is the most slack possible
+    assertEquals(new TimeSet(2.0, 4.0), p1.getCurrentAvailability());
+  }
+
+  @Test
+  public void testRepeatableWithMoveBudget() {
+    //a hot search keeps plenty of moves that make things worse, so any drift would show
+    assertEquals(timesOf(optimizeWorkday(42)), timesOf(optimizeWorkday(42)));
+  }
+
+  @Test (expected = IllegalStateException.class)
+  public void testUnplacedException() {
+    IPerson p1 = new Person("P1", new TimeSet(0.0, 2.0));
+    ILocation room = new Location("Room1");
+    List<IUnscheduledEvent> events = new ArrayList<IUnscheduledEvent>();
+    events.add(new UnscheduledEvent("Fits", new Group("Fits", p1), room, 2.0, 1));
+    events.add(new UnscheduledEvent("NoRoom", new Group("NoRoom", p1), room, 1.0, 1));
+    //the degraded Scheduler leaves NoRoom out, so there's no time to move it from
+    new LocalSearchOptimizer(new Scheduler(1.0, 1, true), 1.0, 1000, 7).schedule(events);
+  }
+
+  @Test
+  public void testUnplacedTakesBackFirstSchedule() {
+    IPerson p1 = new Person("P1", new TimeSet(0.0, 2.0));
+    ILocation room = new Location("Room1");
+    List<IUnscheduledEvent> events = new ArrayList<IUnscheduledEvent>();
+    events.add(new UnscheduledEvent("Fits", new Group("Fits", p1), room, 2.0, 1));
+    events.add(new UnscheduledEvent("NoRoom", new Group("NoRoom", p1), room, 1.0, 1));
+    try {
+      new LocalSearchOptimizer(new Scheduler(1.0, 1, true), 1.0, 1000, 7).schedule(events);
+    } catch (IllegalStateException e) {
+      //nobody is left holding the first schedule's events
+      assertEquals(new TimeSet(0.0, 2.0), p1.getCurrentAvailability());
+      assertEquals(new TimeSet(), room.getUnavailability());
+      return;
+    }
+    throw new AssertionError("The search should not have had anything to start from.");
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testBudgetException() {
+    new LocalSearchOptimizer(new Scheduler(1.0), 1.0, new SlackObjective(), 0, 1000, 1.0, 7);
+  }
+
+  /**
+   * Optimizes a fresh day of six events for three people in two rooms, with a budget of moves
+   * and the given seed.
+   */
+  private ISchedule optimizeWorkday(long seed) {
+    IPerson p1 = new Person("P1", new TimeSet(0.0, 10.0));
+    IPerson p2 = new Person("P2", new TimeSet(0.0, 10.0));
+    IPerson p3 = new Person("P3", new TimeSet(2.0, 10.0));
+    ILocation loc1 = new Location("Room1");
+    ILocation loc2 = new Location("Room2");
+    List<IUnscheduledEvent> events = new ArrayList<IUnscheduledEvent>();
+    events.add(new UnscheduledEvent("A", new Group("A", p1), loc1, 1.0, 1));
+    events.add(new UnscheduledEvent("B", new Group("B", p2), loc1, 2.0, 1));
+    events.add(new UnscheduledEvent("C", new Group("C", p3), loc2, 1.0, 1));
+    events.add(new UnscheduledEvent("D", new Group("D", p1), loc2, 2.0, 1));
+    events.add(new UnscheduledEvent("E", new Group("E", p2), loc2, 1.0, 1));
+    events.add(new UnscheduledEvent("F", new Group("F", p3), loc1, 2.0, 1));
+    return new LocalSearchOptimizer(new Scheduler(1.0), 1.0, new SlackObjective(),
+        3000, 60000, 5.0, seed).schedule(events);
+  }
+
+  /**
+   * Returns each event in the given schedule with its time, in the order they were scheduled.
+   */
+  private List<String> timesOf(ISchedule schedule) {
+    List<String> ret = new ArrayList<String>();
+    for (IScheduledEvent e : schedule.getEvents()) {
+      ret.add(e.getName() + " " + e.getTime().toString());
+    }
+    return ret;
+  }
+}
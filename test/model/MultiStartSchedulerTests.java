@@ -0,0 +1,57 @@
+package model;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static junit.framework.TestCase.assertEquals;
+
+/**
+ * Tests for the MultiStartScheduler class.
+ */
+public class MultiStartSchedulerTests {
+
+  List<IUnscheduledEvent> events;
+  IPerson p1;
+
+  /**
+   * Initializes the data: two 2 hour events for the same person in a 6 hour day, which
+   * Scheduler puts back to back, leaving less slack than putting them at either end.
+   */
+  public void initData() {
+    p1 = new Person("P1", new TimeSet(0.0, 6.0));
+    events = new ArrayList<IUnscheduledEvent>();
+    events.add(new UnscheduledEvent("A", new Group("A", p1), new Location("Room1"), 2.0, 1));
+    events.add(new UnscheduledEvent("B", new Group("B", p1), new Location("Room2"), 2.0, 1));
+  }
+
+  @Test
+  public void testOneStartSameAsGreedy() {
+    initData();
+    new MultiStartScheduler(1.0, 1, 1, 10000, 1).schedule(events);
+    assertEquals(new TimeSet(4.0, 6.0), p1.getCurrentAvailability());
+  }
+
+  @Test
+  public void testRandomStartsFindMoreSlack() {
+    initData();
+    ISchedule produced = new MultiStartScheduler(1.0, 16, 4, 10000, 1).schedule(events);
+    assertEquals(2, produced.getEvents().size());
+    assertEquals(new TimeSet(2.0, 4.0), p1.getCurrentAvailability());
+  }
+
+  @Test
+  public void testSameSeedSameSchedule() {
+    initData();
+    String first = new MultiStartScheduler(1.0, 8, 1, 10000, 42).schedule(events).toString();
+    initData();
+    String second = new MultiStartScheduler(1.0, 8, 4, 10000, 42).schedule(events).toString();
+    assertEquals(first, second);
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testStartsException() {
+    new MultiStartScheduler(1.0, 0, 1, 10000, 1);
+  }
+}
@@ -0,0 +1,39 @@
+package model;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static junit.framework.TestCase.assertEquals;
+
+/**
+ * Tests for the PersistentArray class.
+ */
+public class PersistentArrayTests {
+
+  @Test
+  public void testSetLeavesOriginal() {
+    //big enough to need three levels of nodes
+    List<Integer> values = new ArrayList<Integer>();
+    for (int i = 0; i < 2000; i++) {
+      values.add(i);
+    }
+    PersistentArray<Integer> original = new PersistentArray<Integer>(values);
+    PersistentArray<Integer> changed = original.set(1500, -1).set(0, -2);
+    assertEquals(2000, changed.size());
+    assertEquals(-1, (int) changed.get(1500));
+    assertEquals(-2, (int) changed.get(0));
+    assertEquals(1499, (int) changed.get(1499));
+    assertEquals(1999, (int) changed.get(1999));
+    assertEquals(1500, (int) original.get(1500));
+    assertEquals(0, (int) original.get(0));
+  }
+
+  @Test (expected = IndexOutOfBoundsException.class)
+  public void testGetOutOfBounds() {
+    List<Integer> values = new ArrayList<Integer>();
+    values.add(1);
+    new PersistentArray<Integer>(values).get(1);
+  }
+}
@@ -20,6 +20,17 @@ public class PersonTests {
     assertEquals(new TimeSet(0.0, 3.0), p1.getDefaultAvailability());
   }
 
+  @Test
+  public void testVersion() {
+    IPerson p1 = new Person("Zach", new TimeSet(0.0, 3.0));
+    long version = p1.getVersion();
+    p1.setCurrentAvailability(new TimeSet(1.0, 3.0));
+    assertEquals(true, p1.getVersion() != version);
+    version = p1.getVersion();
+    p1.getCurrentAvailability();
+    assertEquals(version, p1.getVersion());
+  }
+
   @Test
   public void testSplit() {
     String test = "9:00pm - 10:00pm";
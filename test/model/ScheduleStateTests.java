@@ -0,0 +1,100 @@
+package model;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static junit.framework.TestCase.assertEquals;
+
+/**
+ * Tests for the ScheduleState class.
+ */
+public class ScheduleStateTests {
+
+  @Test
+  public void testPlaceLeavesOriginal() {
+    IPerson p1 = new Person("P1", new TimeSet(0.0, 4.0));
+    IPerson p2 = new Person("P2", new TimeSet(0.0, 4.0));
+    ILocation loc = new Location("Room1");
+    IUnscheduledEvent a = new UnscheduledEvent("A", new Group("A", p1), loc, 1.0, 1);
+    IUnscheduledEvent b = new UnscheduledEvent("B", new Group("B", p2), loc, 2.0, 1);
+    List<IUnscheduledEvent> events = new ArrayList<IUnscheduledEvent>();
+    events.add(a);
+    events.add(b);
+    ScheduleState initial = new ScheduleState(events, 1.0);
+    ScheduleState placed = initial.place(a, new TimeSet(1.0, 2.0));
+    assertEquals(1, placed.placed());
+    assertEquals(new TimeSet(0.0, 1.0).union(new TimeSet(2.0, 4.0)), placed.availabilityOf(p1));
+    //b shares the room, so it can only go after a now
+    assertEquals(new TimeSet(2.0, 4.0), placed.optionSpaces().get(b));
+    assertEquals(1, placed.optionSpaces().size());
+    assertEquals(new TimeSet(0.0, 4.0), initial.availabilityOf(p1));
+    assertEquals(new TimeSet(0.0, 4.0), initial.availabilityOf(b));
+    assertEquals(2, initial.optionSpaces().size());
+    //nothing is scheduled for real until the state is replayed
+    assertEquals(new TimeSet(0.0, 4.0), p1.getCurrentAvailability());
+    placed.place(b, new TimeSet(2.0, 4.0)).replay();
+    assertEquals(new TimeSet(0.0, 1.0).union(new TimeSet(2.0, 4.0)), p1.getCurrentAvailability());
+    assertEquals(new TimeSet(0.0, 2.0), p2.getCurrentAvailability());
+  }
+
+  @Test
+  public void testBaselineKeptUpToDate() {
+    IPerson p1 = new Person("P1", new TimeSet(0.0, 4.0));
+    IPerson p2 = new Person("P2", new TimeSet(0.0, 4.0));
+    ILocation loc = new Location("Room1");
+    IUnscheduledEvent a = new UnscheduledEvent("A", new Group("A", p1), loc, 1.0, 1);
+    IUnscheduledEvent b = new UnscheduledEvent("B", new Group("B", p2), loc, 2.0, 1);
+    List<IUnscheduledEvent> events = new ArrayList<IUnscheduledEvent>();
+    events.add(a);
+    events.add(b);
+    ScheduleState initial = new ScheduleState(events, 1.0);
+    assertEquals(4, initial.baseline().optionsOf(a));
+    assertEquals(3, initial.baseline().optionsOf(b));
+    assertEquals(7, initial.baseline().totalOptions());
+    //b has fewer options, so it goes first
+    assertEquals(b, initial.nextEvent());
+    ScheduleState placed = initial.place(a, new TimeSet(1.0, 2.0));
+    OptionBaseline recounted = new OptionBaseline(placed.optionSpaces(), 1.0);
+    assertEquals(false, placed.baseline().contains(a));
+    assertEquals(recounted.optionsOf(b), placed.baseline().optionsOf(b));
+    assertEquals(recounted.totalOptions(), placed.baseline().totalOptions());
+    assertEquals(recounted.eventsWithZero(), placed.baseline().eventsWithZero());
+    assertEquals(new TimeSet(2.0, 4.0), placed.baseline().availabilityOf(b));
+    ScheduleState left = placed.leaveOut(b);
+    assertEquals(0, left.baseline().totalOptions());
+    assertEquals(null, left.nextEvent());
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testPlaceTwiceException() {
+    IPerson p1 = new Person("P1", new TimeSet(0.0, 4.0));
+    IUnscheduledEvent a = new UnscheduledEvent("A", new Group("A", p1), new Location("Room1"), 1.0, 1);
+    List<IUnscheduledEvent> events = new ArrayList<IUnscheduledEvent>();
+    events.add(a);
+    new ScheduleState(events, 1.0).place(a, new TimeSet(1.0, 2.0)).place(a, new TimeSet(2.0, 3.0));
+  }
+
+  @Test
+  public void testLeaveOut() {
+    IPerson p1 = new Person("P1", new TimeSet(0.0, 1.0));
+    ILocation loc = new Location("Room1");
+    IUnscheduledEvent a = new UnscheduledEvent("A", new Group("A", p1), loc, 1.0, 1);
+    IUnscheduledEvent b = new UnscheduledEvent("B", new Group("B", p1), loc, 1.0, 1);
+    List<IUnscheduledEvent> events = new ArrayList<IUnscheduledEvent>();
+    events.add(a);
+    events.add(b);
+    ScheduleState placed = new ScheduleState(events, 1.0).place(a, new TimeSet(0.0, 1.0));
+    assertEquals(1, placed.remaining());
+    //b hasn't been got to yet
+    assertEquals("The search stopped before placing it.", placed.unplaced().get(0).getReason());
+    ScheduleState left = placed.leaveOut(b);
+    assertEquals(0, left.remaining());
+    assertEquals(false, left.isComplete());
+    assertEquals(1, left.unplaced().size());
+    assertEquals(p1, left.unplaced().get(0).getBlockingPeople().get(0));
+    assertEquals(null, left.unplaced().get(0).getBlockingLocation());
+    assertEquals(0, left.optionSpaces().size());
+  }
+}
@@ -0,0 +1,131 @@
+package model;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static junit.framework.TestCase.assertEquals;
+
+/**
+ * Tests for the Schedule class.
+ */
+public class ScheduleTests {
+
+  IPerson p1;
+  IPerson p2;
+  ILocation room1;
+  ILocation room2;
+  IScheduledEvent a;
+  IScheduledEvent b;
+  IScheduledEvent c;
+  IScheduledEvent d;
+  ISchedule schedule;
+
+  /**
+   * Initializes the data: A from 1 to 3, B from 3 to 4 and C from 6 to 8 in Room1,
+   * and D from 0 to 2 in Room2.
+   */
+  public void initData() {
+    p1 = new Person("P1", new TimeSet(0.0, 10.0));
+    p2 = new Person("P2", new TimeSet(0.0, 10.0));
+    room1 = new Location("Room1");
+    room2 = new Location("Room2");
+    List<IScheduledEvent> events = new ArrayList<IScheduledEvent>();
+    c = new ScheduledEvent(new UnscheduledEvent("C", new Group("C", p1), room1, 2.0, 1), new TimeSet(6.0, 8.0));
+    a = new ScheduledEvent(new UnscheduledEvent("A", new Group("A", p1), room1, 2.0, 1), new TimeSet(1.0, 3.0));
+    b = new ScheduledEvent(new UnscheduledEvent("B", new Group("B", p1), room1, 1.0, 1), new TimeSet(3.0, 4.0));
+    d = new ScheduledEvent(new UnscheduledEvent("D", new Group("D", p2), room2, 2.0, 1), new TimeSet(0.0, 2.0));
+    events.add(c);
+    events.add(a);
+    events.add(b);
+    events.add(d);
+    schedule = new Schedule(events);
+  }
+
+  @Test
+  public void testGetEventAt() {
+    initData();
+    assertEquals(a, schedule.getEventAt(new TimeSet(1.0, 3.0), room1));
+    assertEquals(d, schedule.getEventAt(new TimeSet(0.0, 2.0), "Room2"));
+    //only an exact match counts
+    assertEquals(null, schedule.getEventAt(new TimeSet(1.0, 2.0), room1));
+    assertEquals(null, schedule.getEventAt(new TimeSet(1.0, 3.0), room2));
+    assertEquals(null, schedule.getEventAt(new TimeSet(1.0, 3.0), new Location("Nowhere")));
+  }
+
+  @Test
+  public void testGetEventsAt() {
+    initData();
+    assertEquals(1, schedule.getEventsAt(1.0, room1).size());
+    assertEquals(a, schedule.getEventsAt(2.5, room1).get(0));
+    //an event ends just before its end time, so at 3 only B is on
+    assertEquals(b, schedule.getEventsAt(3.0, room1).get(0));
+    assertEquals(1, schedule.getEventsAt(3.0, room1).size());
+    assertEquals(0, schedule.getEventsAt(5.0, room1).size());
+    assertEquals(0, schedule.getEventsAt(8.0, room1).size());
+    assertEquals(d, schedule.getEventsAt(0.0, room2).get(0));
+  }
+
+  @Test
+  public void testGetEventsOverlapping() {
+    initData();
+    List<IScheduledEvent> found = schedule.getEventsOverlapping(new TimeSet(2.0, 7.0), room1);
+    assertEquals(3, found.size());
+    assertEquals(a, found.get(0));
+    assertEquals(b, found.get(1));
+    assertEquals(c, found.get(2));
+    //touching doesn't count
+    assertEquals(0, schedule.getEventsOverlapping(new TimeSet(4.0, 6.0), room1).size());
+    //each event once, in order, over a time with more than one interval
+    found = schedule.getEventsOverlapping(new TimeSet(7.0, 9.0).union(new TimeSet(0.0, 1.5)), room1);
+    assertEquals(2, found.size());
+    assertEquals(a, found.get(0));
+    assertEquals(c, found.get(1));
+  }
+
+  @Test
+  public void testGetEventsWithin() {
+    initData();
+    List<IScheduledEvent> found = schedule.getEventsWithin(new TimeSet(2.0, 8.0), room1);
+    assertEquals(2, found.size());
+    assertEquals(b, found.get(0));
+    assertEquals(c, found.get(1));
+    assertEquals(0, schedule.getEventsWithin(new TimeSet(0.0, 10.0), new Location("Nowhere")).size());
+  }
+
+  @Test
+  public void testGetAgendaOf() {
+    initData();
+    //in order of when they start, not when they were scheduled
+    List<IScheduledEvent> agenda = schedule.getAgendaOf(p1);
+    assertEquals(3, agenda.size());
+    assertEquals(a, agenda.get(0));
+    assertEquals(b, agenda.get(1));
+    assertEquals(c, agenda.get(2));
+    assertEquals(d, schedule.getAgendaOf(p2).get(0));
+    assertEquals(1, schedule.getAgendaOf(c.getGroup()).size());
+    assertEquals(c, schedule.getAgendaOf(c.getGroup()).get(0));
+    assertEquals(0, schedule.getAgendaOf(new Person("P3", new TimeSet(0.0, 10.0))).size());
+    assertEquals(0, schedule.getAgendaOf(new Group("Nobody", p1)).size());
+  }
+
+  @Test (expected = UnsupportedOperationException.class)
+  public void testAgendaUnmodifiable() {
+    initData();
+    schedule.getAgendaOf(p1).clear();
+  }
+
+  @Test
+  public void testWriteTextOutput() throws IOException {
+    initData();
+    StringWriter out = new StringWriter();
+    schedule.writeTextOutput(out);
+    assertEquals(schedule.toTextOutput(), out.toString());
+    String newline = System.lineSeparator();
+    assertEquals(true, out.toString().startsWith("[PlaceholderName]:" + newline + newline + "Monday:"
+        + newline + "---" + newline + "C - [6:00am, 8:00am], @Room1\n  C: (P1)" + newline));
+  }
+}
@@ -0,0 +1,57 @@
+package model;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import static junit.framework.TestCase.assertEquals;
+
+/**
+ * Tests for the SchedulerLog class.
+ */
+public class SchedulerLogTests {
+
+  @Test
+  public void testSilentByDefault() {
+    assertEquals(SchedulerLog.Level.OFF, SchedulerLog.getLevel());
+    assertEquals(false, SchedulerLog.isEnabled(SchedulerLog.Level.INFO));
+    //messages that aren't logged are never built
+    SchedulerLog.trace(() -> {
+      throw new IllegalStateException("This message should not have been built.");
+    });
+  }
+
+  @Test
+  public void testLevels() {
+    SchedulerLog.setLevel(SchedulerLog.Level.DEBUG);
+    try {
+      assertEquals(true, SchedulerLog.isEnabled(SchedulerLog.Level.INFO));
+      assertEquals(true, SchedulerLog.isEnabled(SchedulerLog.Level.DEBUG));
+      assertEquals(false, SchedulerLog.isEnabled(SchedulerLog.Level.TRACE));
+      assertEquals(false, SchedulerLog.isEnabled(SchedulerLog.Level.OFF));
+    } finally {
+      SchedulerLog.setLevel(SchedulerLog.Level.OFF);
+    }
+  }
+
+  @Test
+  public void testTraceTo() throws IOException {
+    File file = File.createTempFile("SchedulerLogTests", ".txt");
+    file.deleteOnExit();
+    SchedulerLog.traceTo(file);
+    try {
+      SchedulerLog.info(() -> "first");
+      SchedulerLog.trace(() -> "second");
+    } finally {
+      SchedulerLog.close();
+      SchedulerLog.setLevel(SchedulerLog.Level.OFF);
+    }
+    List<String> lines = Files.readAllLines(file.toPath());
+    assertEquals(2, lines.size());
+    assertEquals("first", lines.get(0));
+    assertEquals("second", lines.get(1));
+  }
+}
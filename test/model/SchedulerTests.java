@@ -125,9 +125,28 @@ public class SchedulerTests {
     assertEquals("EventA2", produced.getEventAt(new TimeSet(0.0, 2.0), loc2).getName());
     assertEquals("EventD1", produced.getEventAt(new TimeSet(4.0, 6.0), loc2).getName());
     assertEquals("EventE1", produced.getEventAt(new TimeSet(2.0, 3.0), loc2).getName());
+    assertEquals(0, produced.getUnplaced().size());
     //TODO test whatever version of reset I choose to make
   }
 
+  @Test
+  public void testScheduleParallel() {
+    initData();
+    IScheduler scheduler = new Scheduler(1.0, 4);
+    ISchedule produced = scheduler.schedule(toSchedule1);
+    assertEquals("EventA1", produced.getEventAt(new TimeSet(4.0, 5.0), loc1).getName());
+    assertEquals("EventB1", produced.getEventAt(new TimeSet(1.0, 3.0), loc1).getName());
+    assertEquals("EventC1", produced.getEventAt(new TimeSet(3.0, 4.0), loc1).getName());
+    assertEquals("EventA2", produced.getEventAt(new TimeSet(0.0, 2.0), loc2).getName());
+    assertEquals("EventD1", produced.getEventAt(new TimeSet(4.0, 6.0), loc2).getName());
+    assertEquals("EventE1", produced.getEventAt(new TimeSet(2.0, 3.0), loc2).getName());
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testSchedulerParallelismException() {
+    new Scheduler(1.0, 0);
+  }
+
   @Test
   public void testScheduleZeroCase() {
     initData();
@@ -138,6 +157,35 @@ public class SchedulerTests {
     assertEquals("EventZ1", produced.getEventAt(new TimeSet(4.0, 5.0), loc1).getName());
   }
 
+  @Test
+  public void testScheduleDegraded() {
+    IPerson p1 = new Person("P1", new TimeSet(0.0, 2.0));
+    IPerson p2 = new Person("P2", new TimeSet(0.0, 6.0));
+    ILocation room = new Location("Room");
+    List<IUnscheduledEvent> toSchedule = new ArrayList<IUnscheduledEvent>();
+    toSchedule.add(new UnscheduledEvent("Fits", new Group("Fits", p1), room, 2.0, 1));
+    toSchedule.add(new UnscheduledEvent("NoRoom", new Group("NoRoom", p1), room, 1.0, 1));
+    toSchedule.add(new UnscheduledEvent("Other", new Group("Other", p2), room, 1.0, 1));
+    ISchedule produced = new Scheduler(1.0, 1, true).schedule(toSchedule);
+    assertEquals(2, produced.getEvents().size());
+    assertEquals(1, produced.getUnplaced().size());
+    UnplacedEvent left = produced.getUnplaced().get(0);
+    assertEquals("NoRoom", left.getEvent().getName());
+    assertEquals(1, left.getBlockingPeople().size());
+    assertEquals(p1, left.getBlockingPeople().get(0));
+    assertEquals(null, left.getBlockingLocation());
+  }
+
+  @Test (expected = IllegalStateException.class)
+  public void testScheduleNotDegradedException() {
+    IPerson p1 = new Person("P1", new TimeSet(0.0, 2.0));
+    ILocation room = new Location("Room");
+    List<IUnscheduledEvent> toSchedule = new ArrayList<IUnscheduledEvent>();
+    toSchedule.add(new UnscheduledEvent("Fits", new Group("Fits", p1), room, 2.0, 1));
+    toSchedule.add(new UnscheduledEvent("NoRoom", new Group("NoRoom", p1), room, 1.0, 1));
+    new Scheduler(1.0).schedule(toSchedule);
+  }
+
 
 
 }
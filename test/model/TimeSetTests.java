@@ -2,6 +2,7 @@ package model;
 
 import org.junit.Test;
 
+import java.io.IOException;
 import java.util.*;
 
 import static junit.framework.TestCase.assertEquals;
@@ -296,6 +297,49 @@ public class TimeSetTests {
     assertEquals(true, timeList4.contains(new TimeSet(36.7, 37.4)));
   }
 
+  @Test
+  public void testIterateTimesOfDuration() {
+    ITimeSet t1 = new TimeSet(12.5, 14.0).union(new TimeSet(36.0, 38.0));
+    ITimeSet t6 = new TimeSet(3.1415, 5.176).union(t1);
+    for (ITimeSet t : Arrays.asList(t1, t6, new TimeSet())) {
+      List<ITimeSet> iterated = new ArrayList<ITimeSet>();
+      Iterator<ITimeSet> times = t.iterateTimesOfDuration(1.0, .5);
+      while (times.hasNext()) {
+        iterated.add(times.next());
+      }
+      assertEquals(t.allTimesOfDuration(1.0, .5), iterated);
+    }
+    assertEquals(false, new TimeSet(1.0, 1.5).iterateTimesOfDuration(1.0, .5).hasNext());
+  }
+
+  @Test (expected = NoSuchElementException.class)
+  public void testIterateTimesOfDurationExhaustedException() {
+    Iterator<ITimeSet> times = new TimeSet(1.0, 2.0).iterateTimesOfDuration(1.0, .5);
+    times.next();
+    times.next();
+  }
+
+  @Test
+  public void testCountTimesOfDuration() {
+    ITimeSet t1 = new TimeSet(12.5, 14.0);
+    ITimeSet t2 = new TimeSet(36.0, 38.0);
+    ITimeSet t4 = new TimeSet(25.0, 33.0);
+    assertEquals(5, t1.countTimesOfDuration(0.5, .25));
+    assertEquals(5, t1.union(t2).countTimesOfDuration(1.0, .5));
+    assertEquals(0, t4.union(t1).countTimesOfDuration(10.0, .01));
+    assertEquals(4, t1.union(t2).countTimesOfDuration(0.7, 0.7));
+    //off-tick times are counted the same way allTimesOfDuration finds them
+    ITimeSet t6 = new TimeSet(3.1415, 11.176).union(t2);
+    assertEquals(t6.allTimesOfDuration(1.0, 0.5).size(), t6.countTimesOfDuration(1.0, 0.5));
+    assertEquals(t6.allTimesOfDuration(0.03, .01).size(), t6.countTimesOfDuration(0.03, .01));
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testCountTimesOfDurationDivisibleException() {
+    ITimeSet t1 = new TimeSet(12.5, 14.0);
+    t1.countTimesOfDuration(1.0, 0.9);
+  }
+
   @Test (expected = IllegalArgumentException.class)
   public void testAllTimesOfDurationNegativeException1() {
     ITimeSet t1 = new TimeSet(12.5, 14.0);
@@ -344,6 +388,33 @@ public class TimeSetTests {
     assertEquals(true, t1.intersect(t4).hashCode() == t2.intersect(t4).hashCode()); //empty sets are equal
   }
 
+  @Test
+  public void testAdjacentIntervals() {
+    //intervals that only touch at their ends are kept separate
+    ITimeSet t1 = new TimeSet(0.0, 3.0).union(new TimeSet(3.0, 5.0));
+    assertEquals(4, t1.getIntervalMarkers().size());
+    assertEquals(false, t1.equals(new TimeSet(0.0, 5.0)));
+    assertEquals(t1, t1.intersect(new TimeSet(0.0, 6.0)));
+    assertEquals(new TimeSet(5.0, 168.0), t1.complement());
+    assertEquals(new TimeSet(0.0, 1.0).union(new TimeSet(4.0, 5.0)),
+        t1.subtract(new TimeSet(1.0, 3.0).union(new TimeSet(3.0, 4.0))));
+  }
+
+  @Test
+  public void testToTextOutput() {
+    assertEquals("[17:00pm, 19:30pm], ", new TimeSet(17.0, 19.5).toTextOutput());
+    assertEquals("[9:05am, 13:12pm], ", new TimeSet(9.0 + 5 / 60.0, 13.2).toTextOutput());
+    assertEquals("[0:00am, 1:45am], [0:00am, 0:00am], ",
+        new TimeSet(24.0, 25.75).union(new TimeSet(144.0, 168.0)).toTextOutput());
+  }
+
+  @Test
+  public void testWriteTextOutput() throws IOException {
+    StringBuilder out = new StringBuilder("Time: ");
+    new TimeSet(17.0, 19.5).union(new TimeSet(20.0, 21.0)).writeTextOutput(out);
+    assertEquals("Time: [17:00pm, 19:30pm], [20:00pm, 21:00pm], ", out.toString());
+  }
+
   @Test
   public void testAddDays() {
     ITimeSet t1 = new TimeSet(1.0, 7.0);
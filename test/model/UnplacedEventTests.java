@@ -0,0 +1,93 @@
+package model;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static junit.framework.TestCase.assertEquals;
+
+/**
+ * Tests for the UnplacedEvent class.
+ */
+public class UnplacedEventTests {
+
+  IPerson early;
+  IPerson late;
+  ILocation room;
+  IUnscheduledEvent event;
+  Map<IPerson, ITimeSet> availabilities;
+
+  /**
+   * Initializes the data: a 2 hour event for one person free early and one free late.
+   */
+  public void initData() {
+    early = new Person("Early", new TimeSet(0.0, 2.0));
+    late = new Person("Late", new TimeSet(2.0, 4.0));
+    room = new Location("Room");
+    Set<IPerson> members = new HashSet<IPerson>();
+    members.add(early);
+    members.add(late);
+    event = new UnscheduledEvent("Event", new Group("Group", members), room, 2.0, 1);
+    availabilities = new LinkedHashMap<IPerson, ITimeSet>();
+    availabilities.put(late, late.getCurrentAvailability());
+    availabilities.put(early, early.getCurrentAvailability());
+  }
+
+  @Test
+  public void testBlockingPeople() {
+    initData();
+    UnplacedEvent unplaced = UnplacedEvent.diagnose(event, availabilities, new TimeSet(), 1.0);
+    //either of them could be left out, and they're listed by name
+    assertEquals(2, unplaced.getBlockingPeople().size());
+    assertEquals(early, unplaced.getBlockingPeople().get(0));
+    assertEquals(late, unplaced.getBlockingPeople().get(1));
+    assertEquals(null, unplaced.getBlockingLocation());
+    assertEquals("Event: There is no time of 2.0 hours when its members and location are all free. "
+        + "It would fit without: Early, Late", unplaced.toString());
+  }
+
+  @Test
+  public void testBlockingLocation() {
+    initData();
+    availabilities.remove(late);
+    UnplacedEvent unplaced = UnplacedEvent.diagnose(event, availabilities, new TimeSet(0.0, 2.0), 1.0);
+    assertEquals(room, unplaced.getBlockingLocation());
+    //without Early, there's the rest of the week
+    assertEquals(early, unplaced.getBlockingPeople().get(0));
+  }
+
+  @Test
+  public void testNothingBlocking() {
+    initData();
+    //the room is taken whenever either of them is free
+    UnplacedEvent unplaced = UnplacedEvent.diagnose(event, availabilities, new TimeSet(0.0, 4.0), 1.0);
+    assertEquals(0, unplaced.getBlockingPeople().size());
+    assertEquals(null, unplaced.getBlockingLocation());
+    assertEquals("There is no time of 2.0 hours when its members and location are all free, "
+        + "even leaving any one of them out.", unplaced.getReason());
+  }
+
+  @Test
+  public void testEmptyGroup() {
+    initData();
+    IUnscheduledEvent empty = new UnscheduledEvent("Empty", new Group("Empty", new HashSet<IPerson>()), room, 2.0, 1);
+    //with no members, the whole week is free, so only the location can be in the way
+    UnplacedEvent unplaced = UnplacedEvent.diagnose(empty, new LinkedHashMap<IPerson, ITimeSet>(),
+        new TimeSet(0.0, 4.0), 1.0);
+    assertEquals(0, unplaced.getBlockingPeople().size());
+    assertEquals(room, unplaced.getBlockingLocation());
+    assertEquals("There is no time of 2.0 hours when its members and location are all free. "
+        + "It would fit without: Room", unplaced.getReason());
+  }
+
+  @Test
+  public void testNotReached() {
+    initData();
+    UnplacedEvent unplaced = UnplacedEvent.notReached(event);
+    assertEquals(event, unplaced.getEvent());
+    assertEquals("The search stopped before placing it.", unplaced.getReason());
+  }
+}
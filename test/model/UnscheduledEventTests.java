@@ -2,8 +2,10 @@ package model;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -126,4 +128,56 @@ public class UnscheduledEventTests {
             1.0).totalOptions());
   }
 
+  @Test
+  public void testOptionsRemainingIfFromBaseline() {
+    initData();
+    Map<IUnscheduledEvent, ITimeSet> toBeScheduled = new HashMap<IUnscheduledEvent, ITimeSet>();
+    toBeScheduled.put(a1, a1.getAvailability());
+    toBeScheduled.put(a2, a2.getAvailability());
+    toBeScheduled.put(b1, b1.getAvailability());
+    toBeScheduled.put(c1, c1.getAvailability());
+    toBeScheduled.put(d1, d1.getAvailability());
+    toBeScheduled.put(e1, e1.getAvailability());
+    List<IUnscheduledEvent> events = new ArrayList<IUnscheduledEvent>(toBeScheduled.keySet());
+    ConflictGraph conflicts = new ConflictGraph(events);
+    OptionBaseline baseline = new OptionBaseline(toBeScheduled, 1.0);
+
+    //only recounting the affected events should give the same metric as recounting all of them
+    ITimeSet[] considered = {new TimeSet(0.0, 2.0), new TimeSet(1.0, 3.0), new TimeSet(4.0, 6.0)};
+    for (ITimeSet option : considered) {
+      IOptionMetric all = a2.consider(option, toBeScheduled, 1.0);
+      IOptionMetric delta = a2.consider(option, baseline, conflicts.neighboursOf(a2));
+      assertEquals(all.totalOptions(), delta.totalOptions());
+      assertEquals(all.hasZero(), delta.hasZero());
+      for (IUnscheduledEvent e : events) {
+        if (!e.equals(a2)) {
+          assertEquals(all.optionsOf(e), delta.optionsOf(e));
+        }
+      }
+    }
+    //and the event being considered doesn't have to be in the baseline at all
+    toBeScheduled.remove(a2);
+    assertEquals(16, a2.consider(new TimeSet(4.0, 6.0),
+        new OptionBaseline(toBeScheduled, 1.0), conflicts.neighboursOf(a2)).totalOptions());
+  }
+
+  @Test
+  public void testBaselineKeptUpToDate() {
+    initData();
+    Map<IUnscheduledEvent, ITimeSet> toBeScheduled = new HashMap<IUnscheduledEvent, ITimeSet>();
+    toBeScheduled.put(a1, a1.getAvailability());
+    toBeScheduled.put(a2, a2.getAvailability());
+    toBeScheduled.put(b1, b1.getAvailability());
+    OptionBaseline baseline = new OptionBaseline(toBeScheduled, 1.0);
+    //the baseline recounts from the map it was made from, once that map changes
+    toBeScheduled.put(a2, new TimeSet(0.0, 2.0));
+    baseline.recount(a2);
+    toBeScheduled.remove(b1);
+    baseline.remove(b1);
+    OptionBaseline recounted = new OptionBaseline(toBeScheduled, 1.0);
+    assertEquals(false, baseline.contains(b1));
+    assertEquals(recounted.optionsOf(a2), baseline.optionsOf(a2));
+    assertEquals(recounted.totalOptions(), baseline.totalOptions());
+    assertEquals(recounted.eventsWithZero(), baseline.eventsWithZero());
+  }
 }